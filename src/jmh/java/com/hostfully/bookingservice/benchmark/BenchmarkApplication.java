@@ -0,0 +1,24 @@
+package com.hostfully.bookingservice.benchmark;
+
+import com.hostfully.bookingservice.BookingServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Starts the application without the web server, against its own in-memory database. */
+final class BenchmarkApplication {
+
+  private BenchmarkApplication() {}
+
+  static ConfigurableApplicationContext start(String... properties) {
+    return new SpringApplicationBuilder(BookingServiceApplication.class)
+        .web(WebApplicationType.NONE)
+        .logStartupInfo(false)
+        .properties(
+            "spring.main.banner-mode=off",
+            "spring.datasource.url=jdbc:h2:mem:booking-benchmark",
+            "logging.level.root=warn")
+        .properties(properties)
+        .run();
+  }
+}
@@ -0,0 +1,48 @@
+package com.hostfully.bookingservice.benchmark;
+
+import java.time.LocalDate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Bulk-loads properties and bookings straight into the in-memory database. Every property gets
+ * the same number of bookings, two nights each with a free night in between, starting on {@link
+ * #FIRST_DAY} unless told otherwise; one in ten bookings is canceled. Property nights are not
+ * written.
+ */
+final class BenchmarkData {
+
+  static final LocalDate FIRST_DAY = LocalDate.of(2000, 1, 1);
+  static final int DAYS_PER_BOOKING = 3;
+
+  private static final long FIRST_ID = 1000;
+
+  private BenchmarkData() {}
+
+  static void seed(JdbcTemplate jdbcTemplate, int properties, int bookings) {
+    seed(jdbcTemplate, properties, bookings, FIRST_DAY);
+  }
+
+  static void seed(JdbcTemplate jdbcTemplate, int properties, int bookings, LocalDate firstDay) {
+    jdbcTemplate.execute(
+        String.format(
+            "INSERT INTO property (id, address, owner_id)"
+                + " SELECT %d + x, 'Address ' || x, 1 FROM SYSTEM_RANGE(0, %d)",
+            FIRST_ID, properties - 1));
+    jdbcTemplate.execute(
+        String.format(
+            "INSERT INTO booking"
+                + " (id, start_date, end_date, guest_id, property_id, canceled, version)"
+                + " SELECT %1$d + x,"
+                + " DATEADD('DAY', (x / %2$d) * %3$d, DATE '%4$s'),"
+                + " DATEADD('DAY', (x / %2$d) * %3$d + 1, DATE '%4$s'),"
+                + " 1, %1$d + MOD(x, %2$d), MOD(x, 10) = 0, 0"
+                + " FROM SYSTEM_RANGE(0, %5$d)",
+            FIRST_ID, properties, DAYS_PER_BOOKING, firstDay, bookings - 1));
+    jdbcTemplate.execute("ALTER SEQUENCE property_seq RESTART WITH " + (FIRST_ID + properties));
+    jdbcTemplate.execute("ALTER SEQUENCE booking_seq RESTART WITH " + (FIRST_ID + bookings));
+  }
+
+  static long propertyId(int index) {
+    return FIRST_ID + index;
+  }
+}
@@ -0,0 +1,90 @@
+package com.hostfully.bookingservice.benchmark;
+
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.Guest;
+import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.repository.GuestRepository;
+import com.hostfully.bookingservice.repository.PropertyRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Inserts bookings in bulk, one transaction per chunk. A JDBC batch size of 1 is what every insert
+ * cost while the ids came from IDENTITY columns; with pooled sequences Hibernate can group the
+ * inserts of a chunk into batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingBulkInsertBenchmark {
+
+  private static final int CHUNK = 1000;
+
+  @Param({"1", "50"})
+  public int jdbcBatchSize;
+
+  private ConfigurableApplicationContext context;
+  private BookingRepository bookingRepository;
+  private TransactionTemplate transactionTemplate;
+  private Guest guest;
+  private List<Property> properties;
+  private LocalDate nextStart;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        BenchmarkApplication.start(
+            "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+    bookingRepository = context.getBean(BookingRepository.class);
+    transactionTemplate = context.getBean(TransactionTemplate.class);
+    guest = context.getBean(GuestRepository.class).findById(1L).orElseThrow();
+    properties = context.getBean(PropertyRepository.class).findAll();
+    nextStart = LocalDate.of(1900, 1, 1);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CHUNK)
+  public void insertBookings() {
+    final List<Booking> bookings = new ArrayList<>(CHUNK);
+    for (int i = 0; i < CHUNK; i++) {
+      Booking booking = new Booking();
+      booking.setGuest(guest);
+      booking.setProperty(properties.get(i % properties.size()));
+      booking.setStart(nextStart);
+      booking.setEnd(nextStart.plusDays(1));
+      booking.setCanceled(false);
+      bookings.add(booking);
+      if (i % properties.size() == properties.size() - 1) {
+        nextStart = nextStart.plusDays(2);
+      }
+    }
+    transactionTemplate.executeWithoutResult(status -> bookingRepository.saveAll(bookings));
+  }
+}
@@ -0,0 +1,111 @@
+package com.hostfully.bookingservice.benchmark;
+
+import com.hostfully.bookingservice.config.BookingProperties.OverlapCheck;
+import com.hostfully.bookingservice.controller.vo.BookingRequest;
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.repository.GuestRepository;
+import com.hostfully.bookingservice.repository.PropertyRepository;
+import com.hostfully.bookingservice.service.BookingService;
+import com.hostfully.bookingservice.service.OccupancyService;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares checking the overlap with a query before saving against letting the property night
+ * constraint reject the insert. Every invocation books a free period, so both paths do the full
+ * amount of work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingCreationBenchmark {
+
+  private static final long PROPERTIES = 5;
+  private static final int SEED_CHUNK = 1000;
+
+  @Param({"QUERY", "CONSTRAINT"})
+  public OverlapCheck overlapCheck;
+
+  @Param({"100000"})
+  public int existingBookings;
+
+  private final AtomicLong sequence = new AtomicLong();
+  private ConfigurableApplicationContext context;
+  private BookingService bookingService;
+  private LocalDate firstDay;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        BenchmarkApplication.start(
+            "booking.overlap-check=" + overlapCheck,
+            "booking.locks.enabled=" + (overlapCheck != OverlapCheck.CONSTRAINT),
+            "booking.horizon=1000y");
+    bookingService = context.getBean(BookingService.class);
+    firstDay = LocalDate.now().plusDays(1);
+    seedPastBookings();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public BookingResponse createBooking() {
+    final var next = sequence.getAndIncrement();
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setPropertyId(1 + next % PROPERTIES);
+    bookingRequest.setGuestId(1L);
+    bookingRequest.setStart(firstDay.plusDays(next / PROPERTIES * 2));
+    bookingRequest.setEnd(bookingRequest.getStart().plusDays(1));
+    return bookingService.createBooking(bookingRequest);
+  }
+
+  private void seedPastBookings() {
+    final var bookingRepository = context.getBean(BookingRepository.class);
+    final var occupancyService = context.getBean(OccupancyService.class);
+    final var guest = context.getBean(GuestRepository.class).findById(1L).orElseThrow();
+    final var properties = context.getBean(PropertyRepository.class).findAll();
+    final var transactionTemplate = context.getBean(TransactionTemplate.class);
+    final var origin = LocalDate.of(1900, 1, 1);
+
+    for (int chunk = 0; chunk < existingBookings; chunk += SEED_CHUNK) {
+      final var from = chunk;
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            for (int i = from; i < Math.min(from + SEED_CHUNK, existingBookings); i++) {
+              Booking booking = new Booking();
+              booking.setGuest(guest);
+              booking.setProperty(properties.get(i % properties.size()));
+              booking.setStart(origin.plusDays(i / properties.size() * 2L));
+              booking.setEnd(booking.getStart().plusDays(1));
+              booking.setCanceled(false);
+              bookingRepository.save(booking);
+              occupancyService.occupy(booking);
+            }
+          });
+    }
+  }
+}
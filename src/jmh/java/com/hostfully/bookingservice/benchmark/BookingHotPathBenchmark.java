@@ -0,0 +1,129 @@
+package com.hostfully.bookingservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.bookingservice.config.BookingProperties.OverlapCheck;
+import com.hostfully.bookingservice.controller.vo.BookingRequest;
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.Guest;
+import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.service.BookingIntervalIndex;
+import com.hostfully.bookingservice.service.BookingValidationService;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The per-request work of the booking endpoints at production-like sizes: validating a request
+ * and its overlap against a million bookings, building the response and the JSON round trip of
+ * the request. The validated periods are the free nights between seeded bookings, so every check
+ * passes after doing its full amount of work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookingHotPathBenchmark {
+
+  @Param({"INDEX", "QUERY"})
+  public OverlapCheck overlapCheck;
+
+  @Param({"10000"})
+  public int properties;
+
+  @Param({"1000000"})
+  public int bookings;
+
+  private ConfigurableApplicationContext context;
+  private BookingValidationService bookingValidationService;
+  private ObjectMapper objectMapper;
+  private LocalDate firstDay;
+  private int bookingsPerProperty;
+  private Booking booking;
+  private byte[] bookingRequestJson;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    context = BenchmarkApplication.start("booking.overlap-check=" + overlapCheck);
+    firstDay = LocalDate.now().plusDays(1);
+    BenchmarkData.seed(context.getBean(JdbcTemplate.class), properties, bookings, firstDay);
+    context.getBean(BookingIntervalIndex.class).warmUp();
+    bookingValidationService = context.getBean(BookingValidationService.class);
+    objectMapper = context.getBean(ObjectMapper.class);
+    bookingsPerProperty = bookings / properties;
+
+    booking = new Booking();
+    booking.setId(1L);
+    booking.setStart(firstDay);
+    booking.setEnd(firstDay.plusDays(1));
+    booking.setCanceled(false);
+    booking.setGuest(new Guest(1L));
+    booking.setProperty(new Property());
+    booking.getProperty().setId(BenchmarkData.propertyId(0));
+    bookingRequestJson = objectMapper.writeValueAsBytes(freeNightRequest());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void validateBooking() {
+    bookingValidationService.validateBooking(freeNightRequest(), null);
+  }
+
+  @Benchmark
+  public void validateBookingOverlap() {
+    final var bookingRequest = freeNightRequest();
+    bookingValidationService.validateBookingOverlap(
+        null, bookingRequest.getPropertyId(), bookingRequest.getStart(), bookingRequest.getEnd());
+  }
+
+  @Benchmark
+  public BookingResponse bookingResponse() {
+    return new BookingResponse(booking);
+  }
+
+  @Benchmark
+  public byte[] serializeBookingRequest() throws IOException {
+    return objectMapper.writeValueAsBytes(freeNightRequest());
+  }
+
+  @Benchmark
+  public BookingRequest deserializeBookingRequest() throws IOException {
+    return objectMapper.readValue(bookingRequestJson, BookingRequest.class);
+  }
+
+  /** A single night left free between two seeded bookings of a random property. */
+  private BookingRequest freeNightRequest() {
+    final var random = ThreadLocalRandom.current();
+    final var night =
+        firstDay.plusDays(
+            random.nextInt(bookingsPerProperty) * (long) BenchmarkData.DAYS_PER_BOOKING + 2);
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setPropertyId(BenchmarkData.propertyId(random.nextInt(properties)));
+    bookingRequest.setGuestId(1L);
+    bookingRequest.setStart(night);
+    bookingRequest.setEnd(night);
+    return bookingRequest;
+  }
+}
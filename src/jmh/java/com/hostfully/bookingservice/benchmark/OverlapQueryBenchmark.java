@@ -0,0 +1,95 @@
+package com.hostfully.bookingservice.benchmark;
+
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Loading the overlapping bookings against only asking whether one exists, with the indexes on
+ * Booking and with none of them, as in the schema before they were added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OverlapQueryBenchmark {
+
+  @Param({"1000"})
+  public int properties;
+
+  @Param({"1000000"})
+  public int bookings;
+
+  /** Indexes declared on Booking, dropped when not {@link #indexed}. */
+  private static final List<String> BOOKING_INDEXES =
+      List.of(
+          "idx_booking_property_overlap",
+          "idx_booking_property_start",
+          "idx_booking_guest_start",
+          "idx_booking_start",
+          "idx_booking_end");
+
+  @Param({"true", "false"})
+  public boolean indexed;
+
+  private ConfigurableApplicationContext context;
+  private BookingRepository bookingRepository;
+  private int daysCovered;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkApplication.start();
+    final var jdbcTemplate = context.getBean(JdbcTemplate.class);
+    BenchmarkData.seed(jdbcTemplate, properties, bookings);
+    if (!indexed) {
+      BOOKING_INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+    }
+    bookingRepository = context.getBean(BookingRepository.class);
+    daysCovered = bookings / properties * BenchmarkData.DAYS_PER_BOOKING;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Booking> findActiveOverlappingBookings() {
+    final var random = ThreadLocalRandom.current();
+    final var start = randomDay(random);
+    return bookingRepository.findActiveOverlappingBookings(
+        BenchmarkData.propertyId(random.nextInt(properties)), start, start.plusDays(7));
+  }
+
+  @Benchmark
+  public boolean existsActiveOverlap() {
+    final var random = ThreadLocalRandom.current();
+    final var start = randomDay(random);
+    return bookingRepository.existsActiveOverlap(
+        BenchmarkData.propertyId(random.nextInt(properties)), start, start.plusDays(7), null);
+  }
+
+  private LocalDate randomDay(ThreadLocalRandom random) {
+    return BenchmarkData.FIRST_DAY.plusDays(random.nextInt(daysCovered));
+  }
+}
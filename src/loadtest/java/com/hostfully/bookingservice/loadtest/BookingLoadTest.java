@@ -0,0 +1,229 @@
+package com.hostfully.bookingservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.bookingservice.BookingServiceApplication;
+import com.hostfully.bookingservice.loadtest.LatencyRecorder.Outcome;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Drives the booking endpoints over HTTP with a mix of 70% GET, 20% POST and 10% PATCH requests
+ * and prints the latency percentiles, conflict and error rates of each. POSTs go to a handful of
+ * properties so they contend on the overlap check; PATCHes cancel or reactivate bookings created
+ * during the run.
+ *
+ * <p>Without {@code loadtest.url} the application is started in-process on a random port with its
+ * own in-memory database. Settings are read from system properties:
+ *
+ * <ul>
+ *   <li>{@code loadtest.url} - base URL of a running instance
+ *   <li>{@code loadtest.threads} - concurrent clients (default 32)
+ *   <li>{@code loadtest.warmup} - seconds run before measuring (default 10)
+ *   <li>{@code loadtest.duration} - seconds measured (default 60)
+ *   <li>{@code loadtest.properties} - properties the POSTs are spread over (default 3)
+ *   <li>{@code loadtest.profiles} - Spring profiles of the embedded application, e.g. {@code
+ *       virtual-threads}
+ * </ul>
+ */
+public final class BookingLoadTest {
+
+  private static final int MAX_TRACKED_BOOKINGS = 1 << 20;
+  private static final int BOOKING_HORIZON_DAYS = 365;
+  private static final long SEEDED_BOOKINGS = 5;
+
+  private final HttpClient httpClient =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicLongArray bookingIds = new AtomicLongArray(MAX_TRACKED_BOOKINGS);
+  private final AtomicInteger trackedBookings = new AtomicInteger();
+  private final String baseUrl;
+  private final int properties;
+
+  private BookingLoadTest(String baseUrl, int properties) {
+    this.baseUrl = baseUrl;
+    this.properties = properties;
+    for (long id = 1; id <= SEEDED_BOOKINGS; id++) {
+      track(id);
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    final var threads = Integer.getInteger("loadtest.threads", 32);
+    final var warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10));
+    final var duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60));
+    final var properties = Integer.getInteger("loadtest.properties", 3);
+
+    ConfigurableApplicationContext context = null;
+    var baseUrl = System.getProperty("loadtest.url");
+    if (baseUrl == null || baseUrl.isBlank()) {
+      context = startApplication(System.getProperty("loadtest.profiles", ""));
+      final var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      baseUrl = "http://localhost:" + port;
+    }
+    try {
+      final var loadTest = new BookingLoadTest(baseUrl, properties);
+      System.out.printf(
+          "Warming up %s for %ss with %d clients%n", baseUrl, warmup.toSeconds(), threads);
+      loadTest.run(threads, warmup);
+      System.out.printf("Measuring for %ss%n", duration.toSeconds());
+      final var recorders = loadTest.run(threads, duration);
+      System.out.println(LatencyRecorder.header());
+      recorders.forEach(recorder -> System.out.println(recorder.report(duration.toSeconds())));
+    } finally {
+      if (context != null) {
+        context.close();
+      }
+    }
+  }
+
+  private static ConfigurableApplicationContext startApplication(String profiles) {
+    return new SpringApplicationBuilder(BookingServiceApplication.class)
+        .profiles(profiles.isBlank() ? new String[0] : profiles.split(","))
+        .logStartupInfo(false)
+        .properties(
+            "server.port=0",
+            "spring.main.banner-mode=off",
+            "spring.datasource.url=jdbc:h2:mem:booking-loadtest",
+            // All the clients share an address; the test measures the service, not the limits.
+            "booking.rate-limit.enabled=false",
+            "logging.level.root=warn")
+        .run();
+  }
+
+  private List<LatencyRecorder> run(int threads, Duration duration) throws Exception {
+    final var get = new LatencyRecorder("GET");
+    final var post = new LatencyRecorder("POST");
+    final var patch = new LatencyRecorder("PATCH");
+    final var deadline = System.nanoTime() + duration.toNanos();
+    final List<Callable<Void>> clients = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      clients.add(
+          () -> {
+            final var random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+              final var dice = random.nextInt(100);
+              if (dice < 70) {
+                getBooking(get, random);
+              } else if (dice < 90) {
+                createBooking(post, random);
+              } else {
+                patchBooking(patch, random);
+              }
+            }
+            return null;
+          });
+    }
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (var client : executor.invokeAll(clients)) {
+        client.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    return List.of(get, post, patch);
+  }
+
+  private void getBooking(LatencyRecorder recorder, ThreadLocalRandom random) {
+    send(recorder, HttpRequest.newBuilder(uri("/v1/bookings/" + randomBookingId(random))).GET());
+  }
+
+  private void createBooking(LatencyRecorder recorder, ThreadLocalRandom random) {
+    final var start = LocalDate.now().plusDays(1 + random.nextInt(BOOKING_HORIZON_DAYS));
+    final var body =
+        Map.of(
+            "propertyId", 1 + random.nextInt(properties),
+            "guestId", 1,
+            "start", start.toString(),
+            "end", start.plusDays(random.nextInt(5)).toString());
+    final var response =
+        send(
+            recorder,
+            HttpRequest.newBuilder(uri("/v1/bookings"))
+                .header("Content-Type", "application/json")
+                .POST(BodyPublishers.ofString(json(body))));
+    if (response != null && response.statusCode() == 201) {
+      try {
+        track(objectMapper.readTree(response.body()).get("bookingId").asLong());
+      } catch (Exception e) {
+        // The booking is simply not reused by later requests.
+      }
+    }
+  }
+
+  private void patchBooking(LatencyRecorder recorder, ThreadLocalRandom random) {
+    final var body = json(Map.of("cancel", random.nextBoolean()));
+    send(
+        recorder,
+        HttpRequest.newBuilder(uri("/v1/bookings/" + randomBookingId(random)))
+            .header("Content-Type", "application/json")
+            .method("PATCH", BodyPublishers.ofString(body)));
+  }
+
+  private HttpResponse<String> send(LatencyRecorder recorder, HttpRequest.Builder request) {
+    final var started = System.nanoTime();
+    try {
+      final var response =
+          httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), BodyHandlers.ofString());
+      recorder.record(System.nanoTime() - started, outcomeOf(response.statusCode()));
+      return response;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      recorder.record(System.nanoTime() - started, Outcome.ERROR);
+    } catch (Exception e) {
+      recorder.record(System.nanoTime() - started, Outcome.ERROR);
+    }
+    return null;
+  }
+
+  private static Outcome outcomeOf(int status) {
+    if (status / 100 == 2) {
+      return Outcome.OK;
+    }
+    return switch (status) {
+      case 400 -> Outcome.CONFLICT;
+      case 409, 429, 503 -> Outcome.REJECTED;
+      default -> Outcome.ERROR;
+    };
+  }
+
+  private void track(long bookingId) {
+    final var slot = trackedBookings.getAndIncrement();
+    bookingIds.set(slot % MAX_TRACKED_BOOKINGS, bookingId);
+  }
+
+  private long randomBookingId(ThreadLocalRandom random) {
+    final var tracked = Math.min(trackedBookings.get(), MAX_TRACKED_BOOKINGS);
+    return bookingIds.get(random.nextInt(tracked));
+  }
+
+  private URI uri(String path) {
+    return URI.create(baseUrl + path);
+  }
+
+  private String json(Object body) {
+    try {
+      return objectMapper.writeValueAsString(body);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
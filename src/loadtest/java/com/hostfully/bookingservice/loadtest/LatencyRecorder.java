@@ -0,0 +1,96 @@
+package com.hostfully.bookingservice.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/** Collects the latencies and outcomes of one kind of request. */
+final class LatencyRecorder {
+
+  private final String name;
+  private long[] latencies = new long[1 << 16];
+  private int count;
+  private long conflicts;
+  private long rejections;
+  private long errors;
+
+  LatencyRecorder(String name) {
+    this.name = name;
+  }
+
+  synchronized void record(long nanos, Outcome outcome) {
+    if (count == latencies.length) {
+      latencies = Arrays.copyOf(latencies, count * 2);
+    }
+    latencies[count++] = nanos;
+    if (outcome == Outcome.CONFLICT) {
+      conflicts++;
+    } else if (outcome == Outcome.REJECTED) {
+      rejections++;
+    } else if (outcome == Outcome.ERROR) {
+      errors++;
+    }
+  }
+
+  synchronized String report(double seconds) {
+    final var sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    return String.format(
+        Locale.ROOT,
+        "%-6s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %8.2f%% %8.2f%% %8.2f%%",
+        name,
+        count,
+        count / seconds,
+        millis(percentile(sorted, 0.50)),
+        millis(percentile(sorted, 0.99)),
+        millis(percentile(sorted, 0.999)),
+        millis(count == 0 ? 0 : sorted[count - 1]),
+        percentOf(conflicts),
+        percentOf(rejections),
+        percentOf(errors));
+  }
+
+  static String header() {
+    return String.format(
+        Locale.ROOT,
+        "%-6s %9s %9s %9s %9s %9s %9s %9s %9s %9s",
+        "",
+        "requests",
+        "req/s",
+        "p50 ms",
+        "p99 ms",
+        "p999 ms",
+        "max ms",
+        "conflict",
+        "rejected",
+        "error");
+  }
+
+  private static long percentile(long[] sorted, double quantile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+
+  private double percentOf(long outcomes) {
+    return count == 0 ? 0 : 100.0 * outcomes / count;
+  }
+
+  enum Outcome {
+    /** A 2xx response. */
+    OK,
+    /** A 400 response, which this workload only gets for overlapping bookings. */
+    CONFLICT,
+    /**
+     * A 409, 429 or 503 response: the request was refused on purpose, after losing against a
+     * concurrent change of the same booking or because the service was overloaded.
+     */
+    REJECTED,
+    /** Any other response, or no response at all. */
+    ERROR
+  }
+}
@@ -0,0 +1,199 @@
+package com.hostfully.bookingservice.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Period;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "booking")
+public class BookingProperties {
+
+  /** How the overlap of a new or changed booking is checked before it is saved. */
+  private OverlapCheck overlapCheck = OverlapCheck.INDEX;
+
+  /** How far before or after today the nights of a booking may be. */
+  private Period horizon = Period.ofYears(10);
+
+  private final Locks locks = new Locks();
+
+  private final ReferenceCache referenceCache = new ReferenceCache();
+
+  private final Idempotency idempotency = new Idempotency();
+
+  private final OptimisticLocking optimisticLocking = new OptimisticLocking();
+
+  private final Outbox outbox = new Outbox();
+
+  private final Archival archival = new Archival();
+
+  private final BulkImport bulkImport = new BulkImport();
+
+  private final Clients clients = new Clients();
+
+  @Valid private final RateLimit rateLimit = new RateLimit();
+
+  private final LoadShedding loadShedding = new LoadShedding();
+
+  public enum OverlapCheck {
+    /** Queries the database for overlapping bookings. */
+    QUERY,
+    /** Uses the in-memory interval index, querying the database until it is loaded. */
+    INDEX,
+    /** Skips the check and relies on the property night constraint when saving. */
+    CONSTRAINT
+  }
+
+  @Data
+  public static class Locks {
+
+    /** Whether writes of the same property are serialized inside this instance. */
+    private boolean enabled = true;
+
+    /** Number of locks the property ids are spread over. */
+    private int stripes = 64;
+  }
+
+  @Data
+  public static class ReferenceCache {
+
+    /** Entries kept per cached entity before the least used are evicted. */
+    private long maximumSize = 10_000;
+
+    /** How long an entry is served after it was loaded or written. */
+    private Duration timeToLive = Duration.ofMinutes(10);
+  }
+
+  @Data
+  public static class Idempotency {
+
+    /** Responses kept for replaying retried creations before the least used are evicted. */
+    private long maximumSize = 100_000;
+
+    /** How long after a creation its retries are answered from memory. */
+    private Duration timeToLive = Duration.ofHours(24);
+  }
+
+  @Data
+  public static class OptimisticLocking {
+
+    /**
+     * Attempts of a cancellation, reactivation or deletion whose write lost against a concurrent
+     * change of the same booking, before answering 409.
+     */
+    private int maxAttempts = 3;
+  }
+
+  @Data
+  public static class Outbox {
+
+    /** Whether this instance publishes the events of the outbox. */
+    private boolean relayEnabled = true;
+
+    /** Pause between two publications of the pending events. */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /** Events read from the outbox and handed to the sink at once. */
+    private int batchSize = 500;
+
+    /** Where the events are published. */
+    private Sink sink = Sink.LOG;
+
+    /** File the events are appended to with the {@code file} sink. */
+    private Path file = Path.of("booking-events.jsonl");
+
+    public enum Sink {
+      /** Writes each event to the application log. */
+      LOG,
+      /** Appends the events to {@link #file} as JSON lines. */
+      FILE
+    }
+  }
+
+  @Data
+  public static class Archival {
+
+    /** Whether this instance moves past bookings to the archive. */
+    private boolean enabled = true;
+
+    /** When the archival runs, as a cron expression. */
+    private String cron = "0 0 3 * * *";
+
+    /** How long after their end bookings stay in the booking table. */
+    private Period retention = Period.ofDays(90);
+
+    /** Bookings moved per transaction, which bounds how long their rows stay locked. */
+    private int batchSize = 1000;
+  }
+
+  @Data
+  public static class BulkImport {
+
+    /** Lines validated and inserted together, which bounds the memory an import uses. */
+    private int batchSize = 1000;
+
+    /** Rejected lines whose errors are returned; the others are only counted. */
+    private int maxReportedErrors = 1000;
+  }
+
+  @Data
+  public static class Clients {
+
+    /** Header naming the client, taken into account only from the trusted proxies. */
+    private String header = "X-Api-Id";
+
+    /** Remote addresses of the proxies allowed to name the client; others are their own client. */
+    private Set<String> trustedProxies = new HashSet<>();
+  }
+
+  @Data
+  public static class RateLimit {
+
+    /** Whether the requests of each client are limited. */
+    private boolean enabled = true;
+
+    /** Clients whose limits are tracked before the least recently seen are forgotten. */
+    private long maxClients = 100_000;
+
+    /** Limit of the endpoints missing from {@link #endpoints}. */
+    @Valid private final Limit defaultLimit = new Limit(100, 200);
+
+    /**
+     * Limits by controller and method serving the endpoint, e.g. BookingController.createBooking.
+     */
+    private Map<String, @Valid Limit> endpoints = new HashMap<>();
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Limit {
+
+    /** Requests a client may send per second in the long run. */
+    @Positive private double permitsPerSecond;
+
+    /** Requests a client may send at once after having been quiet. */
+    @Positive private int burst;
+  }
+
+  @Data
+  public static class LoadShedding {
+
+    /** Whether requests are refused while the database connection pool is saturated. */
+    private boolean enabled = true;
+
+    /** Requests waiting for a database connection from which new requests are refused. */
+    private int maxAwaitingConnection = 20;
+  }
+}
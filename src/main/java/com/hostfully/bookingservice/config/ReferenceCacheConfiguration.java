@@ -0,0 +1,68 @@
+package com.hostfully.bookingservice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Second-level cache regions of the reference entities (guests, owners and properties), held by
+ * Caffeine and bounded by {@link BookingProperties.ReferenceCache}. Hibernate updates or evicts an
+ * entry whenever the entity is written through JPA, so only writes that bypass it can be served
+ * stale, for at most the time to live. Hit and miss counts are published as cache metrics.
+ *
+ * <p>Each application context has a cache manager of its own, named after the context and closed
+ * with it, so contexts of the same JVM (on other databases, with other settings) never share
+ * entries.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ReferenceCacheConfiguration {
+
+  public static final List<String> REGIONS = List.of("guest", "owner", "property");
+
+  @Bean
+  public CacheManager referenceCacheManager(
+      BookingProperties bookingProperties, ApplicationContext applicationContext) {
+    final var referenceCache = bookingProperties.getReferenceCache();
+    final var cacheManager =
+        Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(
+                URI.create(
+                    "urn:booking-service:reference-cache:"
+                        + ObjectUtils.getIdentityHexString(applicationContext)),
+                applicationContext.getClassLoader());
+    for (String region : REGIONS) {
+      final var configuration = new CaffeineConfiguration<Object, Object>();
+      configuration.setMaximumSize(OptionalLong.of(referenceCache.getMaximumSize()));
+      configuration.setExpireAfterWrite(
+          OptionalLong.of(referenceCache.getTimeToLive().toNanos()));
+      configuration.setStatisticsEnabled(true);
+      cacheManager.createCache(region, configuration);
+    }
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer referenceCacheCustomizer(
+      CacheManager referenceCacheManager) {
+    return properties -> properties.put(ConfigSettings.CACHE_MANAGER, referenceCacheManager);
+  }
+
+  @Bean
+  public MeterBinder referenceCacheMetrics(CacheManager referenceCacheManager) {
+    return registry ->
+        REGIONS.forEach(
+            region -> JCacheMetrics.monitor(registry, referenceCacheManager.getCache(region)));
+  }
+}
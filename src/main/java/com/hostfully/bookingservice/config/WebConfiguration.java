@@ -0,0 +1,19 @@
+package com.hostfully.bookingservice.config;
+
+import com.hostfully.bookingservice.controller.RateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration(proxyBeanMethods = false)
+@RequiredArgsConstructor
+public class WebConfiguration implements WebMvcConfigurer {
+
+  private final RateLimitInterceptor rateLimitInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/v1/**");
+  }
+}
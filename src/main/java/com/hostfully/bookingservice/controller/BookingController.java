@@ -1,13 +1,33 @@
 package com.hostfully.bookingservice.controller;
 
+import com.hostfully.bookingservice.controller.vo.BookingBatchRequest;
+import com.hostfully.bookingservice.controller.vo.BookingBatchResponse;
+import com.hostfully.bookingservice.controller.vo.BookingImportResponse;
+import com.hostfully.bookingservice.controller.vo.BookingPageResponse;
 import com.hostfully.bookingservice.controller.vo.BookingPatchStatus;
 import com.hostfully.bookingservice.controller.vo.BookingRequest;
 import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import com.hostfully.bookingservice.exception.PreconditionFailedException;
+import com.hostfully.bookingservice.service.BookingBatchService;
+import com.hostfully.bookingservice.service.BookingExportService;
+import com.hostfully.bookingservice.service.BookingFileFormat;
+import com.hostfully.bookingservice.service.BookingImportService;
+import com.hostfully.bookingservice.service.BookingSearchService;
 import com.hostfully.bookingservice.service.BookingService;
+import com.hostfully.bookingservice.service.IdempotencyService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.Arrays;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,7 +36,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -26,34 +48,123 @@ import org.springframework.web.bind.annotation.RestController;
 public class BookingController {
 
   private final BookingService bookingService;
+  private final ClientResolver clientResolver;
+  private final BookingBatchService bookingBatchService;
+  private final IdempotencyService idempotencyService;
+  private final BookingSearchService bookingSearchService;
+  private final BookingImportService bookingImportService;
+  private final BookingExportService bookingExportService;
+
+  @GetMapping
+  public ResponseEntity<BookingPageResponse> findBookings(
+      @RequestParam(value = "propertyId", required = false) Long propertyId,
+      @RequestParam(value = "guestId", required = false) Long guestId,
+      @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate from,
+      @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate to,
+      @RequestParam(value = "canceled", required = false) Boolean canceled,
+      @RequestParam(value = "after", required = false) String after,
+      @RequestParam(value = "size", defaultValue = "100") int size) {
+    log.info(
+        "Listing bookings of property {} and guest {} from {} to {} after {}",
+        propertyId,
+        guestId,
+        from,
+        to,
+        after);
+    return ResponseEntity.ok(
+        bookingSearchService.findBookings(propertyId, guestId, from, to, canceled, after, size));
+  }
+
+  /**
+   * Written straight to the response rather than returned, so that the bookings are streamed as
+   * they are read instead of being collected first.
+   */
+  @GetMapping("/export")
+  public void exportBookings(
+      @RequestParam(value = "format", defaultValue = "ndjson") String format,
+      HttpServletResponse response)
+      throws IOException {
+    final var fileFormat = BookingFileFormat.fromParameter(format);
+    log.info("Exporting bookings as {}", fileFormat);
+    response.setContentType(
+        fileFormat == BookingFileFormat.CSV ? "text/csv" : MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    bookingExportService.exportBookings(response.getOutputStream(), fileFormat);
+  }
 
   @GetMapping("/{id}")
-  public ResponseEntity<BookingResponse> getBooking(@PathVariable("id") Long id) {
+  public ResponseEntity<BookingResponse> getBooking(
+      @PathVariable("id") Long id,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     log.info("Getting booking for id: {}", id);
-    return ResponseEntity.ok(bookingService.getBooking(id));
+    if (ifNoneMatch != null) {
+      final var version = bookingService.getBookingVersion(id);
+      if (matches(ifNoneMatch, version)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+      }
+    }
+    final var bookingResponse = bookingService.getBooking(id);
+    return ResponseEntity.ok().eTag(eTag(bookingResponse.getVersion())).body(bookingResponse);
   }
 
   @PostMapping
   public ResponseEntity<BookingResponse> createBooking(
-      @RequestBody @Valid BookingRequest bookingRequest) {
+      @RequestBody @Valid BookingRequest bookingRequest,
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+      HttpServletRequest request) {
     log.info("Creating booking for: {}", bookingRequest);
-    return ResponseEntity.status(HttpStatus.CREATED)
-        .body(bookingService.createBooking(bookingRequest));
+    final var bookingResponse =
+        idempotencyKey == null
+            ? bookingService.createBooking(bookingRequest)
+            : idempotencyService.createOnce(
+                clientResolver.clientOf(request),
+                idempotencyKey,
+                bookingRequest,
+                () -> bookingService.createBooking(bookingRequest));
+    return ResponseEntity.status(HttpStatus.CREATED).body(bookingResponse);
+  }
+
+  @PostMapping("/batch")
+  public ResponseEntity<BookingBatchResponse> createBookings(
+      @RequestBody @Valid BookingBatchRequest bookingBatchRequest) {
+    log.info("Creating {} bookings in batch", bookingBatchRequest.getBookings().size());
+    return ResponseEntity.ok(bookingBatchService.createBookings(bookingBatchRequest.getBookings()));
+  }
+
+  @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<BookingImportResponse> importBookingsFromNdjson(Reader body) {
+    log.info("Importing bookings from NDJSON");
+    return ResponseEntity.ok(bookingImportService.importBookings(body, BookingFileFormat.NDJSON));
+  }
+
+  @PostMapping(value = "/import", consumes = "text/csv")
+  public ResponseEntity<BookingImportResponse> importBookingsFromCsv(Reader body) {
+    log.info("Importing bookings from CSV");
+    return ResponseEntity.ok(bookingImportService.importBookings(body, BookingFileFormat.CSV));
   }
 
   @PutMapping("/{id}")
   public ResponseEntity<BookingResponse> updateBooking(
-      @RequestBody @Valid BookingRequest bookingRequest, @PathVariable("id") Long id) {
+      @RequestBody @Valid BookingRequest bookingRequest,
+      @PathVariable("id") Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     log.info("Updating booking for: {}", bookingRequest);
+    final var bookingResponse =
+        bookingService.updateBooking(bookingRequest, id, expectedVersion(ifMatch));
     return ResponseEntity.status(HttpStatus.OK)
-        .body(bookingService.updateBooking(bookingRequest, id));
+        .eTag(eTag(bookingResponse.getVersion()))
+        .body(bookingResponse);
   }
 
   @PatchMapping("/{id}")
   public ResponseEntity<Void> patchBooking(
-      @PathVariable("id") Long id, @RequestBody @Valid BookingPatchStatus bookingPatchStatus) {
+      @PathVariable("id") Long id,
+      @RequestBody @Valid BookingPatchStatus bookingPatchStatus,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     log.info("Patching booking for id: {}. Canceling: {}", id, bookingPatchStatus);
-    bookingService.patchBooking(id, bookingPatchStatus);
+    bookingService.patchBooking(id, bookingPatchStatus, expectedVersion(ifMatch));
     return ResponseEntity.status(HttpStatus.OK).build();
   }
 
@@ -63,4 +174,32 @@ public class BookingController {
     bookingService.deleteBooking(id);
     return ResponseEntity.status(HttpStatus.OK).build();
   }
+
+  private static String eTag(Long version) {
+    return version == null ? null : "\"" + version + "\"";
+  }
+
+  private static boolean matches(String ifNoneMatch, Long version) {
+    final var eTag = eTag(version);
+    return Arrays.stream(ifNoneMatch.split(","))
+        .map(String::trim)
+        .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+        .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+  }
+
+  /** The version named by an If-Match header; {@code *} or no header accepts any version. */
+  private static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    final var tag = ifMatch.trim();
+    if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+      try {
+        return Long.valueOf(tag.substring(1, tag.length() - 1));
+      } catch (NumberFormatException e) {
+        // Not one of our ETags, so it cannot match the current version.
+      }
+    }
+    throw new PreconditionFailedException("If-Match must be a single ETag of the booking");
+  }
 }
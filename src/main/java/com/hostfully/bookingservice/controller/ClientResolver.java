@@ -0,0 +1,30 @@
+package com.hostfully.bookingservice.controller;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Names the client sending a request: its remote address, or the client header when the request
+ * comes through one of the trusted proxies. Anyone else could claim to be any client by setting
+ * the header.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientResolver {
+
+  private final BookingProperties bookingProperties;
+
+  public String clientOf(HttpServletRequest request) {
+    final var clients = bookingProperties.getClients();
+    final var remoteAddress = request.getRemoteAddr();
+    if (clients.getTrustedProxies().contains(remoteAddress)) {
+      final var clientId = request.getHeader(clients.getHeader());
+      if (clientId != null && !clientId.isBlank()) {
+        return clientId;
+      }
+    }
+    return remoteAddress;
+  }
+}
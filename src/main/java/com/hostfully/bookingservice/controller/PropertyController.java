@@ -0,0 +1,43 @@
+package com.hostfully.bookingservice.controller;
+
+import com.hostfully.bookingservice.controller.vo.AvailablePropertiesResponse;
+import com.hostfully.bookingservice.controller.vo.PropertyAvailabilityResponse;
+import com.hostfully.bookingservice.service.AvailabilityService;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/properties")
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyController {
+
+  private final AvailabilityService availabilityService;
+
+  @GetMapping("/{id}/availability")
+  public ResponseEntity<PropertyAvailabilityResponse> getAvailability(
+      @PathVariable("id") Long id,
+      @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    log.info("Getting availability of property {} from {} to {}", id, from, to);
+    return ResponseEntity.ok(availabilityService.getAvailability(id, from, to));
+  }
+
+  @GetMapping("/available")
+  public ResponseEntity<AvailablePropertiesResponse> findAvailableProperties(
+      @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+      @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+      @RequestParam(value = "after", required = false) Long after,
+      @RequestParam(value = "size", defaultValue = "100") int size) {
+    log.info("Searching properties available from {} to {} after {}", start, end, after);
+    return ResponseEntity.ok(availabilityService.findAvailableProperties(start, end, after, size));
+  }
+}
@@ -0,0 +1,51 @@
+package com.hostfully.bookingservice.controller;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.exception.TooManyRequestsException;
+import com.hostfully.bookingservice.service.LoadShedder;
+import com.hostfully.bookingservice.service.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Refuses a request before it reaches the database: with 429 when its client went over the limit
+ * of the endpoint, with 503 when the connection pool is saturated.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+  private final ClientResolver clientResolver;
+  private final RateLimiter rateLimiter;
+  private final LoadShedder loadShedder;
+  private final BookingProperties bookingProperties;
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    if (bookingProperties.getRateLimit().isEnabled()) {
+      final var client = clientResolver.clientOf(request);
+      final var endpoint =
+          handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+      final var waitNanos = rateLimiter.tryAcquire(client, endpoint);
+      if (waitNanos > 0) {
+        throw new TooManyRequestsException(
+            "Too many requests to " + endpoint + ", retry later",
+            TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+      }
+    }
+    if (loadShedder.isSaturated()) {
+      throw new RejectedExecutionException("Database connection pool is saturated");
+    }
+    return true;
+  }
+}
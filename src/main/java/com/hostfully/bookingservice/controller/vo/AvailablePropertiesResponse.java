@@ -0,0 +1,20 @@
+package com.hostfully.bookingservice.controller.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AvailablePropertiesResponse {
+
+  private LocalDate start;
+  private LocalDate end;
+  private List<Long> propertyIds;
+
+  /** Id to pass as {@code after} for the next page, absent on the last page. */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Long nextCursor;
+}
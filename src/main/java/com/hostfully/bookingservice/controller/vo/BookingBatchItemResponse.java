@@ -0,0 +1,17 @@
+package com.hostfully.bookingservice.controller.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingBatchItemResponse {
+
+  private int index;
+  private int status;
+  private BookingResponse booking;
+  private List<String> errors;
+}
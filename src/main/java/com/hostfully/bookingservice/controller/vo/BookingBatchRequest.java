@@ -0,0 +1,15 @@
+package com.hostfully.bookingservice.controller.vo;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class BookingBatchRequest {
+
+  /** Validated one by one, so an invalid booking is reported without failing the whole batch. */
+  @NotEmpty
+  @Size(max = 1000)
+  private List<BookingRequest> bookings;
+}
@@ -0,0 +1,18 @@
+package com.hostfully.bookingservice.controller.vo;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class BookingBatchResponse {
+
+  private int created;
+  private int rejected;
+  private List<BookingBatchItemResponse> results;
+
+  public BookingBatchResponse(List<BookingBatchItemResponse> results) {
+    this.results = results;
+    this.created = (int) results.stream().filter(result -> result.getErrors() == null).count();
+    this.rejected = results.size() - created;
+  }
+}
@@ -0,0 +1,15 @@
+package com.hostfully.bookingservice.controller.vo;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BookingImportError {
+
+  /** Line of the imported file, starting at 1. */
+  private long line;
+
+  private List<String> errors;
+}
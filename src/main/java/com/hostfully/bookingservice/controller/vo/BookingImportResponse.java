@@ -0,0 +1,15 @@
+package com.hostfully.bookingservice.controller.vo;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class BookingImportResponse {
+
+  private long imported;
+  private long rejected;
+
+  /** Errors of the first rejected lines only, so that the response stays small. */
+  private List<BookingImportError> errors = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.hostfully.bookingservice.controller.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BookingPageResponse {
+
+  private List<BookingResponse> bookings;
+
+  /** Value to pass as {@code after} for the next page, absent on the last page. */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String nextCursor;
+}
@@ -1,10 +1,13 @@
 package com.hostfully.bookingservice.controller.vo;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.hostfully.bookingservice.domain.Booking;
 import java.time.LocalDate;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 
 @Data
+@AllArgsConstructor
 public class BookingResponse {
 
   private Long bookingId;
@@ -15,6 +18,9 @@ public class BookingResponse {
   private Boolean isCanceled;
   private Long propertyId;
 
+  /** Sent as the ETag header rather than in the body. */
+  @JsonIgnore private Long version;
+
   public BookingResponse(Booking booking) {
     this.bookingId = booking.getId();
     this.start = booking.getStart();
@@ -23,5 +29,6 @@ public class BookingResponse {
     if (booking.getOwner() != null) this.ownerId = booking.getOwner().getId();
     this.isCanceled = booking.getCanceled();
     this.propertyId = booking.getProperty().getId();
+    this.version = booking.getVersion();
   }
 }
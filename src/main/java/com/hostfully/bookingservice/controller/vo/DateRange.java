@@ -0,0 +1,13 @@
+package com.hostfully.bookingservice.controller.vo;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DateRange {
+
+  private LocalDate start;
+  private LocalDate end;
+}
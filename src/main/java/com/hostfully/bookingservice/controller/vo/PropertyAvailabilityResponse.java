@@ -0,0 +1,16 @@
+package com.hostfully.bookingservice.controller.vo;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PropertyAvailabilityResponse {
+
+  private Long propertyId;
+  private LocalDate from;
+  private LocalDate to;
+  private List<DateRange> available;
+}
@@ -2,20 +2,36 @@ package com.hostfully.bookingservice.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import lombok.Data;
 
 @Entity
+@Table(
+    indexes = {
+      @Index(
+          name = "idx_booking_property_overlap",
+          columnList = "property_id, canceled, start_date, end_date"),
+      @Index(name = "idx_booking_property_start", columnList = "property_id, start_date, id"),
+      @Index(name = "idx_booking_guest_start", columnList = "guest_id, start_date, id"),
+      @Index(name = "idx_booking_start", columnList = "start_date, id"),
+      @Index(name = "idx_booking_end", columnList = "end_date")
+    })
 @Data
 public class Booking {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+  @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "start_date", nullable = false)
@@ -26,15 +42,17 @@ public class Booking {
 
   private Boolean canceled;
 
-  @ManyToOne
+  @Version private Long version;
+
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "guest_id")
   private Guest guest;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "owner_id")
   private Owner owner;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "property_id", nullable = false)
   private Property property;
 
@@ -0,0 +1,65 @@
+package com.hostfully.bookingservice.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A booking that ended long enough ago to be moved out of the {@link Booking} table. Keeps the id
+ * of the booking, so it can still be read by it, and the ids of its references rather than
+ * associations, as archived bookings are never changed again.
+ */
+@Entity
+@Table(name = "booking_archive")
+@Data
+@NoArgsConstructor
+public class BookingArchive implements Persistable<Long> {
+
+  @Id private Long id;
+
+  @Column(name = "start_date", nullable = false)
+  private LocalDate start;
+
+  @Column(name = "end_date", nullable = false)
+  private LocalDate end;
+
+  private Boolean canceled;
+
+  private Long version;
+
+  @Column(name = "guest_id")
+  private Long guestId;
+
+  @Column(name = "owner_id")
+  private Long ownerId;
+
+  @Column(name = "property_id", nullable = false)
+  private Long propertyId;
+
+  @Column(name = "archived_at", nullable = false)
+  private Instant archivedAt;
+
+  public BookingArchive(Booking booking, Instant archivedAt) {
+    this.id = booking.getId();
+    this.start = booking.getStart();
+    this.end = booking.getEnd();
+    this.canceled = booking.getCanceled();
+    this.version = booking.getVersion();
+    if (booking.getGuest() != null) this.guestId = booking.getGuest().getId();
+    if (booking.getOwner() != null) this.ownerId = booking.getOwner().getId();
+    this.propertyId = booking.getProperty().getId();
+    this.archivedAt = archivedAt;
+  }
+
+  /** Bookings are archived once, so saving one never has to look it up first. */
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+}
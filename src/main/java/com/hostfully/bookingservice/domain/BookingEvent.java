@@ -0,0 +1,51 @@
+package com.hostfully.bookingservice.domain;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import java.time.Instant;
+import lombok.Data;
+
+/**
+ * A change of a booking waiting in the outbox to be published. Written in the transaction of the
+ * change itself, so an event exists if and only if the change was committed.
+ */
+@Entity
+@Data
+public class BookingEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_event_seq")
+  @SequenceGenerator(
+      name = "booking_event_seq",
+      sequenceName = "booking_event_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private BookingEventType type;
+
+  @Column(name = "booking_id", nullable = false)
+  private Long bookingId;
+
+  @Column(name = "property_id", nullable = false)
+  private Long propertyId;
+
+  /** Version of the booking after the change, letting consumers discard stale events. */
+  private Long version;
+
+  /** The booking as returned by the API, in JSON. */
+  @JsonRawValue
+  @Column(nullable = false, length = 1000)
+  private String payload;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+}
@@ -0,0 +1,9 @@
+package com.hostfully.bookingservice.domain;
+
+public enum BookingEventType {
+  CREATED,
+  UPDATED,
+  CANCELED,
+  REACTIVATED,
+  DELETED
+}
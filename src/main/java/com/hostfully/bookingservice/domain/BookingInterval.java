@@ -0,0 +1,11 @@
+package com.hostfully.bookingservice.domain;
+
+import java.time.LocalDate;
+
+public record BookingInterval(Long bookingId, Long propertyId, LocalDate start, LocalDate end) {
+
+  public static BookingInterval of(Booking booking) {
+    return new BookingInterval(
+        booking.getId(), booking.getProperty().getId(), booking.getStart(), booking.getEnd());
+  }
+}
@@ -4,12 +4,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "owner")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +21,8 @@ import lombok.NoArgsConstructor;
 public class Owner {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "owner_seq")
+  @SequenceGenerator(name = "owner_seq", sequenceName = "owner_seq", allocationSize = 50)
   @EqualsAndHashCode.Include
   private Long id;
 }
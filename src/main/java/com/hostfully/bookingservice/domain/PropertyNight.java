@@ -0,0 +1,46 @@
+package com.hostfully.bookingservice.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A night of a property held by an active booking. The primary key makes the database reject a
+ * second booking for the same property and night.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_property_night_booking", columnList = "booking_id"))
+@IdClass(PropertyNightId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyNight implements Persistable<PropertyNightId> {
+
+  @Id
+  @Column(name = "property_id")
+  private Long propertyId;
+
+  @Id private LocalDate night;
+
+  @Column(name = "booking_id", nullable = false)
+  private Long bookingId;
+
+  @Override
+  public PropertyNightId getId() {
+    return new PropertyNightId(propertyId, night);
+  }
+
+  /** Nights are only ever inserted or deleted, so saving one never has to look it up first. */
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+}
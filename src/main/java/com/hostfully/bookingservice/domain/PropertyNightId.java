@@ -0,0 +1,18 @@
+package com.hostfully.bookingservice.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyNightId implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private Long propertyId;
+
+  private LocalDate night;
+}
@@ -1,47 +1,103 @@
 package com.hostfully.bookingservice.exception;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ValidationException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
 @RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
+  static final String ERRORS_COUNTER = "booking.errors";
+
+  private final MeterRegistry meterRegistry;
+
   @ExceptionHandler(Exception.class)
   @ResponseStatus(value = INTERNAL_SERVER_ERROR)
   protected Issue processExceptions(final Exception ex, final WebRequest request) {
 
+    countError(ex, INTERNAL_SERVER_ERROR.value(), ex.getClass().getSimpleName());
     return new Issue(500, Collections.singletonList(ex.getLocalizedMessage()));
   }
 
   @ExceptionHandler({
     ValidationException.class,
     NoSuchElementException.class,
-    IllegalArgumentException.class
+    IllegalArgumentException.class,
+    MissingServletRequestParameterException.class,
+    MethodArgumentTypeMismatchException.class
   })
   @ResponseStatus(value = BAD_REQUEST)
   protected Issue exceptions(final Exception ex) {
 
+    countError(ex, BAD_REQUEST.value(), reasonOf(ex.getLocalizedMessage()));
     return new Issue(400, Collections.singletonList(ex.getLocalizedMessage()));
   }
 
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  @ResponseStatus(value = CONFLICT)
+  protected Issue optimisticLockingFailure(final OptimisticLockingFailureException ex) {
+
+    countError(ex, CONFLICT.value(), "Concurrent modification");
+    return new Issue(
+        409,
+        Collections.singletonList(
+            "The booking was changed by another request at the same time, read it and retry"));
+  }
+
+  @ExceptionHandler(PreconditionFailedException.class)
+  @ResponseStatus(value = PRECONDITION_FAILED)
+  protected Issue preconditionFailed(final PreconditionFailedException ex) {
+
+    countError(ex, PRECONDITION_FAILED.value(), "Version mismatch");
+    return new Issue(412, Collections.singletonList(ex.getLocalizedMessage()));
+  }
+
+  @ExceptionHandler(RejectedExecutionException.class)
+  @ResponseStatus(value = SERVICE_UNAVAILABLE)
+  protected Issue rejectedExecution(final RejectedExecutionException ex) {
+
+    countError(ex, SERVICE_UNAVAILABLE.value(), "Too many requests in progress");
+    return new Issue(503, Collections.singletonList("Too many requests in progress, retry later"));
+  }
+
+  @ExceptionHandler(TooManyRequestsException.class)
+  @ResponseStatus(value = TOO_MANY_REQUESTS)
+  protected Issue tooManyRequests(
+      final TooManyRequestsException ex, final HttpServletResponse response) {
+
+    countError(ex, TOO_MANY_REQUESTS.value(), "Rate limit exceeded");
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+    return new Issue(429, Collections.singletonList(ex.getLocalizedMessage()));
+  }
+
   @ExceptionHandler({MethodArgumentNotValidException.class})
   @ResponseStatus(value = BAD_REQUEST)
   protected Issue handleMethodArgumentNotValid(
@@ -50,11 +106,38 @@ public class GlobalExceptionHandler {
     final List<String> errors = new ArrayList<>();
     for (final FieldError error : ex.getBindingResult().getFieldErrors()) {
       errors.add(error.getField() + ": " + error.getDefaultMessage());
+      countError(ex, BAD_REQUEST.value(), error.getField() + " " + error.getCode());
     }
     for (final ObjectError error : ex.getBindingResult().getGlobalErrors()) {
       errors.add(error.getObjectName() + ": " + error.getDefaultMessage());
+      countError(ex, BAD_REQUEST.value(), error.getObjectName() + " " + error.getCode());
     }
 
     return new Issue(400, errors);
   }
+
+  private void countError(Exception ex, int status, String reason) {
+    meterRegistry
+        .counter(
+            ERRORS_COUNTER,
+            "status",
+            String.valueOf(status),
+            "exception",
+            ex.getClass().getSimpleName(),
+            "reason",
+            reason)
+        .increment();
+  }
+
+  /**
+   * Keeps the part of the message before the first colon, which drops the ids and values of
+   * messages like "Booking not found with id: 5" so the reason tag stays bounded.
+   */
+  private static String reasonOf(String message) {
+    if (message == null) {
+      return "unknown";
+    }
+    final var colon = message.indexOf(':');
+    return colon < 0 ? message : message.substring(0, colon);
+  }
 }
@@ -0,0 +1,16 @@
+package com.hostfully.bookingservice.exception;
+
+import lombok.Getter;
+
+/** Thrown when a client sends more requests to an endpoint than its limit allows. */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+  /** Seconds until the client may send its next request. */
+  private final long retryAfterSeconds;
+
+  public TooManyRequestsException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
@@ -0,0 +1,34 @@
+package com.hostfully.bookingservice.repository;
+
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import com.hostfully.bookingservice.domain.BookingArchive;
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BookingArchiveRepository extends JpaRepository<BookingArchive, Long> {
+
+  @Query(
+      "SELECT new com.hostfully.bookingservice.controller.vo.BookingResponse("
+          + "a.id, a.start, a.end, a.guestId, a.ownerId, a.canceled, a.propertyId, a.version)"
+          + " FROM BookingArchive a WHERE a.id = :id")
+  Optional<BookingResponse> findResponseById(@Param("id") Long id);
+
+  @Query("SELECT a.version FROM BookingArchive a WHERE a.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  /** Like {@link BookingRepository#streamAllResponses()}, for the archived bookings. */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query(
+      "SELECT new com.hostfully.bookingservice.controller.vo.BookingResponse("
+          + "a.id, a.start, a.end, a.guestId, a.ownerId, a.canceled, a.propertyId, a.version)"
+          + " FROM BookingArchive a ORDER BY a.id")
+  Stream<BookingResponse> streamAllResponses();
+}
@@ -0,0 +1,13 @@
+package com.hostfully.bookingservice.repository;
+
+import com.hostfully.bookingservice.domain.BookingEvent;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+  List<BookingEvent> findByOrderByIdAsc(Pageable pageable);
+}
@@ -1,16 +1,25 @@
 package com.hostfully.bookingservice.repository;
 
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
 import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.BookingInterval;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository
+    extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
 
   @Query(
       "SELECT b FROM Booking b WHERE b.property.id = :propertyId AND "
@@ -21,5 +30,53 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
       @Param("startDate") LocalDate startDate,
       @Param("endDate") LocalDate endDate);
 
+  /**
+   * Tells whether an active booking other than {@code bookingId} overlaps the period, without
+   * loading any booking. Served from {@code idx_booking_property_overlap} alone.
+   */
+  @Query(
+      "SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b"
+          + " WHERE b.property.id = :propertyId AND (b.start <= :endDate AND b.end >= :startDate)"
+          + " AND b.canceled = false AND (:bookingId IS NULL OR b.id <> :bookingId)")
+  boolean existsActiveOverlap(
+      @Param("propertyId") Long propertyId,
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate,
+      @Param("bookingId") Long bookingId);
+
   Optional<Booking> findActiveBookingByIdAndCanceledIsFalse(Long bookingId);
+
+  /**
+   * Reads a booking straight into its response. The association ids come from the booking's own
+   * foreign key columns, so no other table is touched.
+   */
+  @Query(
+      "SELECT new com.hostfully.bookingservice.controller.vo.BookingResponse("
+          + "b.id, b.start, b.end, b.guest.id, b.owner.id, b.canceled, b.property.id, b.version)"
+          + " FROM Booking b WHERE b.id = :id")
+  Optional<BookingResponse> findResponseById(@Param("id") Long id);
+
+  @Query("SELECT b.version FROM Booking b WHERE b.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  /**
+   * Streams every booking, read from the database a fetch size at a time. Projected straight to
+   * responses, so no booking is ever attached to the persistence context. Must be consumed and
+   * closed inside a transaction.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query(
+      "SELECT new com.hostfully.bookingservice.controller.vo.BookingResponse("
+          + "b.id, b.start, b.end, b.guest.id, b.owner.id, b.canceled, b.property.id, b.version)"
+          + " FROM Booking b ORDER BY b.id")
+  Stream<BookingResponse> streamAllResponses();
+
+  @Query(
+      "SELECT new com.hostfully.bookingservice.domain.BookingInterval("
+          + "b.id, b.property.id, b.start, b.end) FROM Booking b WHERE b.canceled = false")
+  List<BookingInterval> findAllActiveIntervals();
+
+  /** Bookings whose last night is before {@code cutoff}, served from {@code idx_booking_end}. */
+  @Query("SELECT b FROM Booking b WHERE b.end < :cutoff ORDER BY b.id")
+  List<Booking> findEndingBefore(@Param("cutoff") LocalDate cutoff, Pageable pageable);
 }
@@ -0,0 +1,22 @@
+package com.hostfully.bookingservice.repository;
+
+import com.hostfully.bookingservice.domain.PropertyNight;
+import com.hostfully.bookingservice.domain.PropertyNightId;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PropertyNightRepository extends JpaRepository<PropertyNight, PropertyNightId> {
+
+  @Modifying
+  @Query("DELETE FROM PropertyNight n WHERE n.bookingId = :bookingId")
+  int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+  @Modifying
+  @Query("DELETE FROM PropertyNight n WHERE n.bookingId IN :bookingIds")
+  int deleteByBookingIdIn(@Param("bookingIds") List<Long> bookingIds);
+}
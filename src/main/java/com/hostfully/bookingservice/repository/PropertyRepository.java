@@ -1,8 +1,57 @@
 package com.hostfully.bookingservice.repository;
 
+import com.hostfully.bookingservice.domain.Guest;
+import com.hostfully.bookingservice.domain.Owner;
 import com.hostfully.bookingservice.domain.Property;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, Long> {}
+public interface PropertyRepository extends JpaRepository<Property, Long> {
+
+  @Query(
+      "SELECT p.id FROM Property p WHERE p.id > :afterId AND NOT EXISTS ("
+          + "SELECT b.id FROM Booking b WHERE b.property = p AND "
+          + "(b.start <= :endDate AND b.end >= :startDate)"
+          + " AND b.canceled = false) ORDER BY p.id")
+  List<Long> findAvailablePropertyIds(
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate,
+      @Param("afterId") Long afterId,
+      Pageable pageable);
+
+  /**
+   * The property and the guest of a booking, read in a single statement. Empty when either one is
+   * missing.
+   */
+  @Query(
+      "SELECT p AS property, g AS guest FROM Property p, Guest g"
+          + " WHERE p.id = :propertyId AND g.id = :guestId")
+  Optional<PropertyWithGuest> findWithGuest(
+      @Param("propertyId") Long propertyId, @Param("guestId") Long guestId);
+
+  /** Like {@link #findWithGuest}, for a booking blocking the property for an owner. */
+  @Query(
+      "SELECT p AS property, o AS owner FROM Property p, Owner o"
+          + " WHERE p.id = :propertyId AND o.id = :ownerId")
+  Optional<PropertyWithOwner> findWithOwner(
+      @Param("propertyId") Long propertyId, @Param("ownerId") Long ownerId);
+
+  interface PropertyWithGuest {
+    Property getProperty();
+
+    Guest getGuest();
+  }
+
+  interface PropertyWithOwner {
+    Property getProperty();
+
+    Owner getOwner();
+  }
+}
@@ -0,0 +1,112 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.domain.BookingInterval;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * One bit per night and property, set when an active booking holds the night. Kept in step by
+ * {@link BookingIntervalIndex}, so reading the nights of a period costs the same whatever the
+ * number of bookings of the property.
+ */
+@Component
+public class AvailabilityCalendar {
+
+  private final Map<Long, PropertyCalendar> calendars = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Returns the nights from {@code from} to {@code to} that are taken, bit 0 being from. */
+  public BitSet occupiedNights(Long propertyId, LocalDate from, LocalDate to) {
+    lock.readLock().lock();
+    try {
+      final var calendar = calendars.get(propertyId);
+      final var length = (int) (to.toEpochDay() - from.toEpochDay() + 1);
+      return calendar == null ? new BitSet(length) : calendar.window(from.toEpochDay(), length);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  void occupy(BookingInterval interval) {
+    lock.writeLock().lock();
+    try {
+      calendars
+          .computeIfAbsent(
+              interval.propertyId(), id -> new PropertyCalendar(interval.start().toEpochDay()))
+          .set(interval.start().toEpochDay(), interval.end().toEpochDay(), true);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void free(BookingInterval interval) {
+    lock.writeLock().lock();
+    try {
+      final var calendar = calendars.get(interval.propertyId());
+      if (calendar != null) {
+        calendar.set(interval.start().toEpochDay(), interval.end().toEpochDay(), false);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void clear() {
+    lock.writeLock().lock();
+    try {
+      calendars.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static final class PropertyCalendar {
+
+    /** Epoch day of bit 0, always at a word boundary so the bits can be moved word by word. */
+    private long firstDay;
+
+    private BitSet nights = new BitSet();
+
+    private PropertyCalendar(long day) {
+      this.firstDay = Math.floorDiv(day, Long.SIZE) * Long.SIZE;
+    }
+
+    private void set(long fromDay, long toDay, boolean occupied) {
+      if (fromDay < firstDay) {
+        if (!occupied) {
+          fromDay = firstDay;
+        } else {
+          moveFirstDay(Math.floorDiv(fromDay, Long.SIZE) * Long.SIZE);
+        }
+      }
+      if (fromDay <= toDay) {
+        nights.set((int) (fromDay - firstDay), (int) (toDay - firstDay) + 1, occupied);
+      }
+    }
+
+    private void moveFirstDay(long newFirstDay) {
+      final var words = nights.toLongArray();
+      final var moved = new long[words.length + (int) ((firstDay - newFirstDay) / Long.SIZE)];
+      System.arraycopy(words, 0, moved, moved.length - words.length, words.length);
+      nights = BitSet.valueOf(moved);
+      firstDay = newFirstDay;
+    }
+
+    private BitSet window(long fromDay, int length) {
+      final var window = new BitSet(length);
+      final var start = Math.max(fromDay, firstDay);
+      final var end = Math.min(fromDay + length, firstDay + nights.length());
+      for (long day = start; day < end; day++) {
+        if (nights.get((int) (day - firstDay))) {
+          window.set((int) (day - fromDay));
+        }
+      }
+      return window;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.controller.vo.AvailablePropertiesResponse;
+import com.hostfully.bookingservice.controller.vo.DateRange;
+import com.hostfully.bookingservice.controller.vo.PropertyAvailabilityResponse;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.repository.PropertyRepository;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+  static final int MAX_DAYS = 366;
+  static final int MAX_PAGE_SIZE = 500;
+
+  private final PropertyRepository propertyRepository;
+  private final BookingRepository bookingRepository;
+  private final BookingIntervalIndex bookingIntervalIndex;
+  private final AvailabilityCalendar availabilityCalendar;
+
+  public PropertyAvailabilityResponse getAvailability(
+      Long propertyId, LocalDate from, LocalDate to) {
+    validatePeriod(from, to);
+    propertyRepository
+        .findById(propertyId)
+        .orElseThrow(() -> new NoSuchElementException("Property not found with id: " + propertyId));
+    final var occupied =
+        bookingIntervalIndex.isReady()
+            ? availabilityCalendar.occupiedNights(propertyId, from, to)
+            : queryOccupiedNights(propertyId, from, to);
+    return new PropertyAvailabilityResponse(propertyId, from, to, freeRanges(occupied, from, to));
+  }
+
+  /**
+   * Lists the properties without any active booking between start and end, ordered by id. Pages
+   * are read after the last id of the previous one, so deep pages cost as much as the first.
+   */
+  public AvailablePropertiesResponse findAvailableProperties(
+      LocalDate start, LocalDate end, Long after, int size) {
+    if (start.isAfter(end)) {
+      throw new IllegalArgumentException("Start date must be before end date");
+    }
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    final var propertyIds =
+        propertyRepository.findAvailablePropertyIds(
+            start, end, after == null ? 0L : after, PageRequest.ofSize(size));
+    final var nextCursor = propertyIds.size() < size ? null : propertyIds.get(size - 1);
+    return new AvailablePropertiesResponse(start, end, propertyIds, nextCursor);
+  }
+
+  private void validatePeriod(LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("From date must be before to date");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+      throw new IllegalArgumentException(
+          "Availability can be requested for at most " + MAX_DAYS + " days");
+    }
+  }
+
+  private BitSet queryOccupiedNights(Long propertyId, LocalDate from, LocalDate to) {
+    final var occupied = new BitSet();
+    final var bookings = bookingRepository.findActiveOverlappingBookings(propertyId, from, to);
+    for (final var booking : bookings) {
+      final var start = booking.getStart().isBefore(from) ? from : booking.getStart();
+      final var end = booking.getEnd().isAfter(to) ? to : booking.getEnd();
+      occupied.set(
+          (int) ChronoUnit.DAYS.between(from, start), (int) ChronoUnit.DAYS.between(from, end) + 1);
+    }
+    return occupied;
+  }
+
+  private static List<DateRange> freeRanges(BitSet occupied, LocalDate from, LocalDate to) {
+    final var length = (int) ChronoUnit.DAYS.between(from, to) + 1;
+    final List<DateRange> ranges = new ArrayList<>();
+    var free = occupied.nextClearBit(0);
+    while (free < length) {
+      final var next = occupied.nextSetBit(free);
+      final var end = next < 0 || next > length ? length : next;
+      ranges.add(new DateRange(from.plusDays(free), from.plusDays(end - 1L)));
+      free = occupied.nextClearBit(end);
+    }
+    return ranges;
+  }
+}
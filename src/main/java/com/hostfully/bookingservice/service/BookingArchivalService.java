@@ -0,0 +1,85 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.BookingArchive;
+import com.hostfully.bookingservice.repository.BookingArchiveRepository;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the bookings that ended more than {@code booking.archival.retention} ago to the archive,
+ * keeping the booking table, its indexes and the overlap checks down to recent and future stays.
+ * Bookings are moved in small transactions so that no row stays locked for long, and a booking
+ * changed while it is moved makes its batch roll back and wait for the next run.
+ */
+@Service
+@ConditionalOnProperty(
+    prefix = "booking.archival",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class BookingArchivalService {
+
+  private final BookingRepository bookingRepository;
+  private final BookingArchiveRepository bookingArchiveRepository;
+  private final BookingIntervalIndex bookingIntervalIndex;
+  private final OccupancyService occupancyService;
+  private final TransactionTemplate transactionTemplate;
+  private final BookingMetrics bookingMetrics;
+  private final BookingProperties bookingProperties;
+
+  @Scheduled(cron = "${booking.archival.cron:0 0 3 * * *}")
+  public void archivePastBookings() {
+    final var cutoff = LocalDate.now().minus(bookingProperties.getArchival().getRetention());
+    final int archived = bookingMetrics.timed("archive", () -> archiveEndingBefore(cutoff));
+    log.info("Archived {} bookings ending before {}", archived, cutoff);
+  }
+
+  /** Returns the number of bookings moved to the archive. */
+  public int archiveEndingBefore(LocalDate cutoff) {
+    final var batchSize = bookingProperties.getArchival().getBatchSize();
+    var archived = 0;
+    while (true) {
+      final List<Long> ids;
+      try {
+        ids = transactionTemplate.execute(status -> archiveBatch(cutoff, batchSize));
+      } catch (OptimisticLockingFailureException e) {
+        log.warn("A booking changed while being archived, archiving the rest on the next run", e);
+        return archived;
+      }
+      ids.forEach(bookingIntervalIndex::remove);
+      archived += ids.size();
+      if (ids.size() < batchSize) {
+        return archived;
+      }
+    }
+  }
+
+  private List<Long> archiveBatch(LocalDate cutoff, int batchSize) {
+    final var bookings = bookingRepository.findEndingBefore(cutoff, PageRequest.of(0, batchSize));
+    if (bookings.isEmpty()) {
+      return List.of();
+    }
+    final var now = Instant.now();
+    final var ids = bookings.stream().map(Booking::getId).toList();
+    bookingArchiveRepository.saveAll(
+        bookings.stream().map(booking -> new BookingArchive(booking, now)).toList());
+    occupancyService.releaseAll(ids);
+    // Deleted one by one with their version, so a booking changed meanwhile fails the batch.
+    bookingRepository.deleteAll(bookings);
+    return ids;
+  }
+}
@@ -0,0 +1,263 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.controller.vo.BookingBatchItemResponse;
+import com.hostfully.bookingservice.controller.vo.BookingBatchResponse;
+import com.hostfully.bookingservice.controller.vo.BookingRequest;
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.BookingEventType;
+import com.hostfully.bookingservice.domain.Guest;
+import com.hostfully.bookingservice.domain.Owner;
+import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.repository.GuestRepository;
+import com.hostfully.bookingservice.repository.OwnerRepository;
+import com.hostfully.bookingservice.repository.PropertyRepository;
+import jakarta.validation.Validator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates many bookings in one pass: the referenced properties, guests and owners are fetched
+ * with one query each, overlaps inside the batch are detected in memory and the accepted bookings
+ * are inserted in a single transaction. Every booking gets its own result, so one invalid booking
+ * does not fail the others.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingBatchService {
+
+  static final String BATCH_OVERLAP_MESSAGE = "Booking overlaps another booking of the same batch";
+
+  private final BookingRepository bookingRepository;
+  private final PropertyRepository propertyRepository;
+  private final GuestRepository guestRepository;
+  private final OwnerRepository ownerRepository;
+  private final BookingValidationService bookingValidationService;
+  private final BookingIntervalIndex bookingIntervalIndex;
+  private final PropertyLocks propertyLocks;
+  private final OccupancyService occupancyService;
+  private final OutboxService outboxService;
+  private final TransactionTemplate transactionTemplate;
+  private final Validator validator;
+
+  public BookingBatchResponse createBookings(List<BookingRequest> bookingRequests) {
+    return createBookings(bookingRequests, false);
+  }
+
+  /**
+   * @param historical whether the bookings are imported, and so may be in the past
+   */
+  public BookingBatchResponse createBookings(
+      List<BookingRequest> bookingRequests, boolean historical) {
+    final List<BatchItem> items = new ArrayList<>();
+    for (int i = 0; i < bookingRequests.size(); i++) {
+      final var item = new BatchItem(i, bookingRequests.get(i));
+      validateRequest(item, historical);
+      items.add(item);
+    }
+
+    resolveReferences(pending(items));
+
+    final var propertyIds =
+        pending(items).stream().map(item -> item.request.getPropertyId()).distinct().toList();
+    propertyLocks.withLocks(
+        propertyIds,
+        () -> {
+          pending(items).forEach(this::validateOverlap);
+          rejectOverlapsWithinBatch(pending(items));
+          persist(pending(items));
+          return null;
+        });
+
+    return new BookingBatchResponse(items.stream().map(BatchItem::toResponse).toList());
+  }
+
+  private void validateRequest(BatchItem item, boolean historical) {
+    final var violations = validator.validate(item.request);
+    if (!violations.isEmpty()) {
+      item.reject(
+          violations.stream()
+              .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+              .sorted()
+              .toList());
+      return;
+    }
+    item.attempt(
+        () -> {
+          if (historical) {
+            bookingValidationService.validateImportedRequest(item.request);
+          } else {
+            bookingValidationService.validateRequest(item.request);
+          }
+        });
+  }
+
+  private void resolveReferences(List<BatchItem> items) {
+    final var properties =
+        findAllById(
+            items, BookingRequest::getPropertyId, propertyRepository::findAllById, Property::getId);
+    final var guests =
+        findAllById(items, BookingRequest::getGuestId, guestRepository::findAllById, Guest::getId);
+    final var owners =
+        findAllById(items, BookingRequest::getOwnerId, ownerRepository::findAllById, Owner::getId);
+
+    for (final var item : items) {
+      item.attempt(
+          () -> {
+            final var request = item.request;
+            final var booking = new Booking();
+            if (request.getOwnerId() != null) {
+              booking.setOwner(require(owners, request.getOwnerId(), "Owner"));
+            } else {
+              booking.setGuest(require(guests, request.getGuestId(), "Guest"));
+            }
+            booking.setProperty(require(properties, request.getPropertyId(), "Property"));
+            if (booking.isBlocking()) {
+              bookingValidationService.validateBlocking(booking);
+            }
+            booking.setStart(request.getStart());
+            booking.setEnd(request.getEnd());
+            booking.setCanceled(false);
+            item.booking = booking;
+          });
+    }
+  }
+
+  /**
+   * Earlier bookings of the batch win over later ones for the same property and nights. Runs after
+   * the check against the saved bookings, so a booking refused by that check takes no nights.
+   */
+  private void rejectOverlapsWithinBatch(List<BatchItem> items) {
+    final Map<Long, NavigableMap<LocalDate, LocalDate>> acceptedByProperty = new HashMap<>();
+    for (final var item : items) {
+      final var accepted =
+          acceptedByProperty.computeIfAbsent(item.request.getPropertyId(), id -> new TreeMap<>());
+      final var previous = accepted.floorEntry(item.request.getEnd());
+      if (previous != null && !previous.getValue().isBefore(item.request.getStart())) {
+        item.reject(Collections.singletonList(BATCH_OVERLAP_MESSAGE));
+      } else {
+        accepted.put(item.request.getStart(), item.request.getEnd());
+      }
+    }
+  }
+
+  private void validateOverlap(BatchItem item) {
+    item.attempt(
+        () ->
+            bookingValidationService.validateBookingOverlap(
+                null,
+                item.request.getPropertyId(),
+                item.request.getStart(),
+                item.request.getEnd()));
+  }
+
+  private void persist(List<BatchItem> items) {
+    if (items.isEmpty()) {
+      return;
+    }
+    final var bookings = items.stream().map(item -> item.booking).toList();
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            bookingRepository.saveAll(bookings);
+            occupancyService.occupyNew(bookings);
+            outboxService.recordAll(BookingEventType.CREATED, bookings);
+          });
+    } catch (IllegalArgumentException | DataAccessException e) {
+      // A night was taken outside of this instance; saving one by one tells which booking lost.
+      items.forEach(this::persistOne);
+      return;
+    }
+    bookings.forEach(bookingIntervalIndex::update);
+  }
+
+  private void persistOne(BatchItem item) {
+    item.booking.setId(null);
+    item.booking.setVersion(null);
+    item.attempt(
+        () -> {
+          transactionTemplate.executeWithoutResult(
+              status -> {
+                bookingRepository.save(item.booking);
+                occupancyService.occupyNew(List.of(item.booking));
+                outboxService.record(BookingEventType.CREATED, item.booking);
+              });
+          bookingIntervalIndex.update(item.booking);
+        });
+  }
+
+  private static List<BatchItem> pending(List<BatchItem> items) {
+    return items.stream().filter(item -> item.errors == null).toList();
+  }
+
+  private static <T> Map<Long, T> findAllById(
+      List<BatchItem> items,
+      Function<BookingRequest, Long> requestedId,
+      Function<List<Long>, List<T>> finder,
+      Function<T, Long> idOf) {
+    final var ids =
+        items.stream()
+            .map(item -> requestedId.apply(item.request))
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+    return finder.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+  }
+
+  private static <T> T require(Map<Long, T> entities, Long id, String name) {
+    final var entity = entities.get(id);
+    if (entity == null) {
+      throw new NoSuchElementException(name + " not found with id: " + id);
+    }
+    return entity;
+  }
+
+  private static class BatchItem {
+
+    private final int index;
+    private final BookingRequest request;
+    private Booking booking;
+    private List<String> errors;
+
+    private BatchItem(int index, BookingRequest request) {
+      this.index = index;
+      this.request = request;
+    }
+
+    private void attempt(Runnable step) {
+      try {
+        step.run();
+      } catch (IllegalArgumentException | NoSuchElementException e) {
+        reject(Collections.singletonList(e.getLocalizedMessage()));
+      }
+    }
+
+    private void reject(List<String> errors) {
+      this.errors = errors;
+    }
+
+    private BookingBatchItemResponse toResponse() {
+      if (errors != null) {
+        return new BookingBatchItemResponse(index, HttpStatus.BAD_REQUEST.value(), null, errors);
+      }
+      return new BookingBatchItemResponse(
+          index, HttpStatus.CREATED.value(), new BookingResponse(booking), null);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.domain.BookingEvent;
+import com.hostfully.bookingservice.repository.BookingEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the events of the outbox to the {@link BookingEventSink} in batches, oldest first, and
+ * removes them once the sink has accepted them. An event is only removed after it was published,
+ * so a failure or a restart in between publishes it again rather than losing it.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "booking.outbox",
+    name = "relay-enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class BookingEventRelay {
+
+  private final BookingEventRepository bookingEventRepository;
+  private final BookingEventSink bookingEventSink;
+  private final BookingProperties bookingProperties;
+
+  /** Publishes every pending event, batch after batch. */
+  @Scheduled(fixedDelayString = "${booking.outbox.poll-interval:PT1S}")
+  public void relay() {
+    final var batchSize = bookingProperties.getOutbox().getBatchSize();
+    while (true) {
+      final var events = bookingEventRepository.findByOrderByIdAsc(PageRequest.of(0, batchSize));
+      if (events.isEmpty()) {
+        return;
+      }
+      try {
+        bookingEventSink.publish(events);
+      } catch (RuntimeException e) {
+        log.warn("Publishing {} booking events failed, retrying later", events.size(), e);
+        return;
+      }
+      bookingEventRepository.deleteAllByIdInBatch(
+          events.stream().map(BookingEvent::getId).toList());
+      if (events.size() < batchSize) {
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.domain.BookingEvent;
+import java.util.List;
+
+/**
+ * Destination of the booking events relayed from the outbox. Delivery is at least once: when
+ * {@link #publish} throws, the whole batch is published again later, including the events that
+ * may already have gone through.
+ */
+public interface BookingEventSink {
+
+  /**
+   * @param events ordered as written, so the events of a property are published in order
+   */
+  void publish(List<BookingEvent> events);
+}
@@ -0,0 +1,100 @@
+package com.hostfully.bookingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import com.hostfully.bookingservice.repository.BookingArchiveRepository;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes every booking, archived ones included, to a stream one line at a time. Bookings are read
+ * through a database cursor and written as they come, so memory use doesn't depend on their
+ * number.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingExportService {
+
+  static final String CSV_HEADER = "bookingId,propertyId,start,end,guestId,ownerId,canceled";
+
+  private final BookingRepository bookingRepository;
+  private final BookingArchiveRepository bookingArchiveRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final BookingMetrics bookingMetrics;
+
+  public void exportBookings(OutputStream outputStream, BookingFileFormat format) {
+    final var readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    readOnly.setReadOnly(true);
+    bookingMetrics.runTimed(
+        "export",
+        () ->
+            readOnly.executeWithoutResult(
+                status -> {
+                  final var writer =
+                      new BufferedWriter(
+                          new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                  if (format == BookingFileFormat.CSV) {
+                    writeLine(writer, CSV_HEADER);
+                  }
+                  write(bookingRepository.streamAllResponses(), writer, format);
+                  write(bookingArchiveRepository.streamAllResponses(), writer, format);
+                  try {
+                    writer.flush();
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                }));
+  }
+
+  private void write(Stream<BookingResponse> bookings, Writer writer, BookingFileFormat format) {
+    try (bookings) {
+      bookings.forEach(booking -> writeLine(writer, toLine(booking, format)));
+    }
+  }
+
+  private String toLine(BookingResponse booking, BookingFileFormat format) {
+    return format == BookingFileFormat.CSV ? toCsv(booking) : toJson(booking);
+  }
+
+  private String toJson(BookingResponse booking) {
+    try {
+      return objectMapper.writeValueAsString(booking);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize booking " + booking.getBookingId(), e);
+    }
+  }
+
+  private static String toCsv(BookingResponse booking) {
+    return String.join(
+        ",",
+        Objects.toString(booking.getBookingId(), ""),
+        Objects.toString(booking.getPropertyId(), ""),
+        Objects.toString(booking.getStart(), ""),
+        Objects.toString(booking.getEnd(), ""),
+        Objects.toString(booking.getGuestId(), ""),
+        Objects.toString(booking.getOwnerId(), ""),
+        Objects.toString(booking.getIsCanceled(), ""));
+  }
+
+  private static void writeLine(Writer writer, String line) {
+    try {
+      writer.write(line);
+      writer.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.hostfully.bookingservice.service;
+
+import java.util.Locale;
+
+/** Formats bookings are imported from and exported to, one booking per line. */
+public enum BookingFileFormat {
+  /** One JSON object per line. */
+  NDJSON,
+  /** Comma-separated columns, empty for a missing value. */
+  CSV;
+
+  /** The format named by a request parameter, case-insensitively. */
+  public static BookingFileFormat fromParameter(String format) {
+    return switch (format.toLowerCase(Locale.ROOT)) {
+      case "ndjson" -> NDJSON;
+      case "csv" -> CSV;
+      default -> throw new IllegalArgumentException("Format must be ndjson or csv");
+    };
+  }
+}
@@ -0,0 +1,147 @@
+package com.hostfully.bookingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.controller.vo.BookingImportError;
+import com.hostfully.bookingservice.controller.vo.BookingImportResponse;
+import com.hostfully.bookingservice.controller.vo.BookingRequest;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Imports bookings, past ones included, from a file read line by line. Lines are handed to {@link
+ * BookingBatchService} in batches of {@code booking.bulk-import.batch-size}, so only one batch is
+ * held in memory whatever the size of the file, and each batch is inserted in one transaction.
+ * Overlaps are checked like for any new booking, including against the bookings imported by the
+ * previous batches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingImportService {
+
+  /** Columns of an imported CSV line, which may be preceded by a header line naming them. */
+  static final String CSV_HEADER = "propertyId,start,end,guestId,ownerId";
+
+  private final BookingBatchService bookingBatchService;
+  private final ObjectMapper objectMapper;
+  private final BookingMetrics bookingMetrics;
+  private final BookingProperties bookingProperties;
+
+  public BookingImportResponse importBookings(Reader reader, BookingFileFormat format) {
+    return bookingMetrics.timed("import", () -> read(new BufferedReader(reader), format));
+  }
+
+  private BookingImportResponse read(BufferedReader reader, BookingFileFormat format) {
+    final var batchSize = bookingProperties.getBulkImport().getBatchSize();
+    final var response = new BookingImportResponse();
+    final List<BookingRequest> requests = new ArrayList<>(batchSize);
+    final List<Long> lineNumbers = new ArrayList<>(batchSize);
+    long lineNumber = 0;
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank() || (lineNumber == 1 && line.strip().equals(CSV_HEADER))) {
+          continue;
+        }
+        try {
+          requests.add(format == BookingFileFormat.CSV ? parseCsv(line) : parseJson(line));
+          lineNumbers.add(lineNumber);
+        } catch (IllegalArgumentException e) {
+          reject(response, lineNumber, List.of(e.getMessage()));
+        }
+        if (requests.size() == batchSize) {
+          importBatch(requests, lineNumbers, response);
+          log.info(
+              "Imported {} bookings and rejected {} lines out of {} read",
+              response.getImported(),
+              response.getRejected(),
+              lineNumber);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    importBatch(requests, lineNumbers, response);
+    log.info(
+        "Import done: {} bookings imported and {} lines rejected out of {}",
+        response.getImported(),
+        response.getRejected(),
+        lineNumber);
+    return response;
+  }
+
+  private void importBatch(
+      List<BookingRequest> requests, List<Long> lineNumbers, BookingImportResponse response) {
+    if (requests.isEmpty()) {
+      return;
+    }
+    final var batch = bookingBatchService.createBookings(List.copyOf(requests), true);
+    for (final var result : batch.getResults()) {
+      if (result.getErrors() == null) {
+        response.setImported(response.getImported() + 1);
+      } else {
+        reject(response, lineNumbers.get(result.getIndex()), result.getErrors());
+      }
+    }
+    requests.clear();
+    lineNumbers.clear();
+  }
+
+  private void reject(BookingImportResponse response, long lineNumber, List<String> errors) {
+    response.setRejected(response.getRejected() + 1);
+    if (response.getErrors().size() < bookingProperties.getBulkImport().getMaxReportedErrors()) {
+      response.getErrors().add(new BookingImportError(lineNumber, errors));
+    }
+  }
+
+  private BookingRequest parseJson(String line) {
+    final BookingRequest request;
+    try {
+      request = objectMapper.readValue(line, BookingRequest.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+    }
+    if (request == null) {
+      throw new IllegalArgumentException("Invalid JSON: expected a booking, got null");
+    }
+    return request;
+  }
+
+  private static BookingRequest parseCsv(String line) {
+    final var columns = line.split(",", -1);
+    if (columns.length != 5) {
+      throw new IllegalArgumentException("Expected 5 columns: " + CSV_HEADER);
+    }
+    try {
+      final var request = new BookingRequest();
+      request.setPropertyId(parseId(columns[0]));
+      request.setStart(parseDate(columns[1]));
+      request.setEnd(parseDate(columns[2]));
+      request.setGuestId(parseId(columns[3]));
+      request.setOwnerId(parseId(columns[4]));
+      return request;
+    } catch (NumberFormatException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid CSV: " + e.getMessage());
+    }
+  }
+
+  private static Long parseId(String column) {
+    return column.isBlank() ? null : Long.valueOf(column.strip());
+  }
+
+  private static LocalDate parseDate(String column) {
+    return column.isBlank() ? null : LocalDate.parse(column.strip());
+  }
+}
@@ -0,0 +1,125 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.BookingInterval;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the active bookings of every property, sorted by start date. Active bookings
+ * of a property never overlap each other, so an overlap query only has to look at the few
+ * intervals starting right before the end of the requested period. Every change is mirrored in
+ * the {@link AvailabilityCalendar}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntervalIndex {
+
+  private static final Comparator<BookingInterval> BY_START =
+      Comparator.comparing(BookingInterval::start).thenComparing(BookingInterval::bookingId);
+
+  private final BookingRepository bookingRepository;
+  private final AvailabilityCalendar availabilityCalendar;
+
+  private final Map<Long, NavigableSet<BookingInterval>> intervalsByProperty = new HashMap<>();
+  private final Map<Long, BookingInterval> intervalsByBooking = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private volatile boolean ready;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    lock.writeLock().lock();
+    try {
+      intervalsByProperty.clear();
+      intervalsByBooking.clear();
+      availabilityCalendar.clear();
+      bookingRepository.findAllActiveIntervals().forEach(this::addInterval);
+      ready = true;
+      log.info("Booking interval index loaded with {} active bookings", intervalsByBooking.size());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  public boolean hasOverlap(
+      Long propertyId, LocalDate startDate, LocalDate endDate, Long excludedBookingId) {
+    lock.readLock().lock();
+    try {
+      final var intervals = intervalsByProperty.get(propertyId);
+      if (intervals == null) {
+        return false;
+      }
+      final var upperBound = new BookingInterval(Long.MAX_VALUE, propertyId, endDate, endDate);
+      for (final var interval : intervals.headSet(upperBound, true).descendingSet()) {
+        if (interval.end().isBefore(startDate)) {
+          return false;
+        }
+        if (!interval.bookingId().equals(excludedBookingId)) {
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public void update(Booking booking) {
+    lock.writeLock().lock();
+    try {
+      removeInterval(intervalsByBooking.get(booking.getId()));
+      if (!Boolean.TRUE.equals(booking.getCanceled())) {
+        addInterval(BookingInterval.of(booking));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(Long bookingId) {
+    lock.writeLock().lock();
+    try {
+      removeInterval(intervalsByBooking.get(bookingId));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void addInterval(BookingInterval interval) {
+    intervalsByBooking.put(interval.bookingId(), interval);
+    intervalsByProperty
+        .computeIfAbsent(interval.propertyId(), id -> new TreeSet<>(BY_START))
+        .add(interval);
+    availabilityCalendar.occupy(interval);
+  }
+
+  private void removeInterval(BookingInterval interval) {
+    if (interval == null) {
+      return;
+    }
+    intervalsByBooking.remove(interval.bookingId());
+    final var intervals = intervalsByProperty.get(interval.propertyId());
+    intervals.remove(interval);
+    if (intervals.isEmpty()) {
+      intervalsByProperty.remove(interval.propertyId());
+    }
+    availabilityCalendar.free(interval);
+  }
+}
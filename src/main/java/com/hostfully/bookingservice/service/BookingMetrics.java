@@ -0,0 +1,73 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.exception.PreconditionFailedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers of the booking operations and of the overlap checks. An operation ends as {@code
+ * success}, {@code rejected} when the request is refused (bad input, unknown booking, overlap,
+ * stale version, concurrent change) or {@code error} for anything else.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingMetrics {
+
+  static final String OPERATION_TIMER = "booking.operation";
+  static final String OVERLAP_CHECK_TIMER = "booking.overlap.check";
+  static final String CONFLICT_RETRY_COUNTER = "booking.conflict.retries";
+
+  private final MeterRegistry meterRegistry;
+
+  public <T> T timed(String operation, Supplier<T> action) {
+    final var sample = Timer.start(meterRegistry);
+    var outcome = "error";
+    try {
+      final var result = action.get();
+      outcome = "success";
+      return result;
+    } catch (IllegalArgumentException
+        | NoSuchElementException
+        | PreconditionFailedException
+        | OptimisticLockingFailureException e) {
+      outcome = "rejected";
+      throw e;
+    } finally {
+      sample.stop(
+          Timer.builder(OPERATION_TIMER)
+              .tag("operation", operation)
+              .tag("outcome", outcome)
+              .register(meterRegistry));
+    }
+  }
+
+  public void runTimed(String operation, Runnable action) {
+    timed(
+        operation,
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+
+  /**
+   * @param source {@code index} or {@code query}, whichever answered the check
+   */
+  public void recordOverlapCheck(String source, long nanos, boolean overlaps) {
+    Timer.builder(OVERLAP_CHECK_TIMER)
+        .tag("source", source)
+        .tag("result", overlaps ? "conflict" : "clear")
+        .register(meterRegistry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void countConflictRetry(String operation) {
+    meterRegistry.counter(CONFLICT_RETRY_COUNTER, "operation", operation).increment();
+  }
+}
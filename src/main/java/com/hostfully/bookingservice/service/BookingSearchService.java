@@ -0,0 +1,109 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.controller.vo.BookingPageResponse;
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import jakarta.persistence.criteria.Predicate;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+/**
+ * Lists bookings ordered by start date and id. Pages are read after the start date and id of the
+ * last booking of the previous one (keyset pagination), so deep pages cost as much as the first
+ * instead of skipping every earlier row as an offset would.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingSearchService {
+
+  static final int MAX_PAGE_SIZE = 500;
+
+  private static final Sort KEYSET_SORT = Sort.by("start", "id");
+  private static final String CURSOR_SEPARATOR = "_";
+
+  private final BookingRepository bookingRepository;
+  private final BookingMetrics bookingMetrics;
+
+  /**
+   * @param from with {@code to}, keeps the bookings with at least one night in the period
+   * @param after cursor returned with the previous page, {@code null} for the first one
+   */
+  public BookingPageResponse findBookings(
+      Long propertyId,
+      Long guestId,
+      LocalDate from,
+      LocalDate to,
+      Boolean canceled,
+      String after,
+      int size) {
+    if (from != null && to != null && from.isAfter(to)) {
+      throw new IllegalArgumentException("From date must be before to date");
+    }
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    final var position = after == null ? ScrollPosition.keyset() : decodeCursor(after);
+    final Specification<Booking> specification =
+        (root, query, criteriaBuilder) -> {
+          final List<Predicate> predicates = new ArrayList<>();
+          if (propertyId != null) {
+            predicates.add(criteriaBuilder.equal(root.get("property").get("id"), propertyId));
+          }
+          if (guestId != null) {
+            predicates.add(criteriaBuilder.equal(root.get("guest").get("id"), guestId));
+          }
+          if (from != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("end"), from));
+          }
+          if (to != null) {
+            predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("start"), to));
+          }
+          if (canceled != null) {
+            predicates.add(criteriaBuilder.equal(root.get("canceled"), canceled));
+          }
+          return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+
+    return bookingMetrics.timed(
+        "list",
+        () -> {
+          final var window =
+              bookingRepository.findBy(
+                  specification,
+                  query -> query.sortBy(KEYSET_SORT).limit(size).scroll(position));
+          final var bookings = window.getContent().stream().map(BookingResponse::new).toList();
+          final var nextCursor =
+              window.hasNext() ? encodeCursor(window.getContent().get(window.size() - 1)) : null;
+          return new BookingPageResponse(bookings, nextCursor);
+        });
+  }
+
+  private static String encodeCursor(Booking booking) {
+    return booking.getStart() + CURSOR_SEPARATOR + booking.getId();
+  }
+
+  private static KeysetScrollPosition decodeCursor(String cursor) {
+    final var parts = cursor.split(CURSOR_SEPARATOR, -1);
+    try {
+      if (parts.length == 2) {
+        final var keys = new LinkedHashMap<String, Object>();
+        keys.put("start", LocalDate.parse(parts[0]));
+        keys.put("id", Long.valueOf(parts[1]));
+        return ScrollPosition.forward(keys);
+      }
+    } catch (DateTimeParseException | NumberFormatException e) {
+      // Reported below like any other malformed cursor.
+    }
+    throw new IllegalArgumentException("Invalid cursor: " + cursor);
+  }
+}
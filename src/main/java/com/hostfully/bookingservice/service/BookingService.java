@@ -1,19 +1,28 @@
 package com.hostfully.bookingservice.service;
 
+import com.hostfully.bookingservice.config.BookingProperties;
 import com.hostfully.bookingservice.controller.vo.BookingPatchStatus;
 import com.hostfully.bookingservice.controller.vo.BookingRequest;
 import com.hostfully.bookingservice.controller.vo.BookingResponse;
 import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.BookingEventType;
 import com.hostfully.bookingservice.domain.Guest;
 import com.hostfully.bookingservice.domain.Owner;
 import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.exception.PreconditionFailedException;
+import com.hostfully.bookingservice.repository.BookingArchiveRepository;
 import com.hostfully.bookingservice.repository.BookingRepository;
 import com.hostfully.bookingservice.repository.GuestRepository;
 import com.hostfully.bookingservice.repository.OwnerRepository;
 import com.hostfully.bookingservice.repository.PropertyRepository;
+import com.hostfully.bookingservice.repository.PropertyRepository.PropertyWithGuest;
+import com.hostfully.bookingservice.repository.PropertyRepository.PropertyWithOwner;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -23,44 +32,136 @@ public class BookingService {
   private final PropertyRepository propertyRepository;
   private final GuestRepository guestRepository;
   private final OwnerRepository ownerRepository;
+  private final BookingArchiveRepository bookingArchiveRepository;
   private final BookingValidationService bookingValidationService;
+  private final BookingIntervalIndex bookingIntervalIndex;
+  private final PropertyLocks propertyLocks;
+  private final OccupancyService occupancyService;
+  private final OutboxService outboxService;
+  private final TransactionTemplate transactionTemplate;
+  private final BookingMetrics bookingMetrics;
+  private final BookingProperties bookingProperties;
 
   public BookingResponse createBooking(BookingRequest bookingRequest) {
-    bookingValidationService.validateBooking(bookingRequest, null);
-    return createBooking(bookingRequest, new Booking());
+    return bookingMetrics.timed(
+        "create",
+        () ->
+            propertyLocks.withLock(
+                bookingRequest.getPropertyId(),
+                () -> {
+                  bookingValidationService.validateBooking(bookingRequest, null);
+                  return createBooking(bookingRequest, new Booking());
+                }));
   }
 
   public BookingResponse updateBooking(BookingRequest bookingRequest, Long id) {
-    final var activeBooking = findActiveBookingById(id);
-    bookingValidationService.validateBooking(bookingRequest, id);
-    return createBooking(bookingRequest, activeBooking);
+    return updateBooking(bookingRequest, id, null);
   }
 
+  /**
+   * @param expectedVersion version the client last read, or {@code null} to update whatever the
+   *     current version is
+   */
+  public BookingResponse updateBooking(
+      BookingRequest bookingRequest, Long id, Long expectedVersion) {
+    return bookingMetrics.timed(
+        "update",
+        () -> {
+          final var activeBooking = findActiveBookingById(id);
+          // The booking leaves the intervals of its current property, so both properties are
+          // locked. A change made before the locks are taken fails the version check on save.
+          return propertyLocks.withLocks(
+              Arrays.asList(activeBooking.getProperty().getId(), bookingRequest.getPropertyId()),
+              () -> {
+                checkVersion(activeBooking, expectedVersion);
+                bookingValidationService.validateBooking(bookingRequest, id);
+                return createBooking(bookingRequest, activeBooking);
+              });
+        });
+  }
+
+  /** Looks in the archive when the booking is not in the booking table anymore. */
   public BookingResponse getBooking(Long id) {
-    final Booking booking = findBookingById(id);
-    return new BookingResponse(booking);
+    return bookingMetrics.timed(
+        "get",
+        () ->
+            bookingRepository
+                .findResponseById(id)
+                .or(() -> bookingArchiveRepository.findResponseById(id))
+                .orElseThrow(() -> new NoSuchElementException("Booking not found with id: " + id)));
+  }
+
+  /** Reads only the version of a booking, to answer conditional requests without loading it. */
+  public Long getBookingVersion(Long id) {
+    return bookingMetrics.timed(
+        "version",
+        () ->
+            bookingRepository
+                .findVersionById(id)
+                .or(() -> bookingArchiveRepository.findVersionById(id))
+                .orElseThrow(() -> new NoSuchElementException("Booking not found with id: " + id)));
   }
 
   public void deleteBooking(Long id) {
-    bookingRepository.delete(findBookingById(id));
+    bookingMetrics.runTimed(
+        "delete",
+        () ->
+            retryOnConflict(
+                "delete",
+                () -> {
+                  final Booking booking = findBookingById(id);
+                  propertyLocks.runWithLock(
+                      booking.getProperty().getId(),
+                      () -> {
+                        transactionTemplate.executeWithoutResult(
+                            status -> {
+                              bookingRepository.delete(booking);
+                              occupancyService.release(id);
+                              outboxService.record(BookingEventType.DELETED, booking);
+                            });
+                        bookingIntervalIndex.remove(id);
+                      });
+                }));
   }
 
   public void patchBooking(Long id, BookingPatchStatus bookingPatchStatus) {
+    patchBooking(id, bookingPatchStatus, null);
+  }
+
+  /**
+   * @param expectedVersion version the client last read, or {@code null} to patch whatever the
+   *     current version is
+   */
+  public void patchBooking(Long id, BookingPatchStatus bookingPatchStatus, Long expectedVersion) {
+    bookingMetrics.runTimed(
+        "patch",
+        () -> retryOnConflict("patch", () -> patch(id, bookingPatchStatus, expectedVersion)));
+  }
+
+  private void patch(Long id, BookingPatchStatus bookingPatchStatus, Long expectedVersion) {
     final Booking booking = findBookingById(id);
+    checkVersion(booking, expectedVersion);
 
-    if (Boolean.TRUE.equals(bookingPatchStatus.getCancel())) {
-      booking.setCanceled(true);
-    } else {
-      bookingValidationService.validateBookingOverlap(
-          id, booking.getProperty().getId(), booking.getStart(), booking.getEnd());
-      booking.setCanceled(false);
-    }
-    bookingRepository.save(booking);
+    propertyLocks.runWithLock(
+        booking.getProperty().getId(),
+        () -> {
+          if (Boolean.TRUE.equals(bookingPatchStatus.getCancel())) {
+            booking.setCanceled(true);
+            saveBooking(booking, BookingEventType.CANCELED);
+          } else {
+            bookingValidationService.validateBookingOverlap(
+                id, booking.getProperty().getId(), booking.getStart(), booking.getEnd());
+            booking.setCanceled(false);
+            saveBooking(booking, BookingEventType.REACTIVATED);
+          }
+        });
   }
 
-  private BookingResponse createBooking(BookingRequest bookingRequest, Booking booking) {
-    setOwnerOrGuest(bookingRequest, booking);
-    booking.setProperty(getProperty(bookingRequest.getPropertyId()));
+  private BookingResponse createBooking(
+      BookingRequest bookingRequest, Booking booking) {
+    final var eventType =
+        booking.getId() == null ? BookingEventType.CREATED : BookingEventType.UPDATED;
+    setReferences(bookingRequest, booking);
 
     if (booking.isBlocking()) {
       bookingValidationService.validateBlocking(booking);
@@ -70,18 +171,74 @@ public class BookingService {
     booking.setEnd(bookingRequest.getEnd());
     booking.setCanceled(false);
 
-    bookingRepository.save(booking);
+    return new BookingResponse(saveBooking(booking, eventType));
+  }
+
+  /** Returns the saved booking, which carries the new version when an existing one is merged. */
+  private Booking saveBooking(Booking booking, BookingEventType eventType) {
+    final var saved =
+        transactionTemplate.execute(
+            status -> {
+              final var merged = bookingRepository.save(booking);
+              occupancyService.occupy(merged);
+              outboxService.record(eventType, merged);
+              return merged;
+            });
+    bookingIntervalIndex.update(saved);
+    return saved;
+  }
 
-    return new BookingResponse(booking);
+  /**
+   * Runs an operation again when its write lost against a concurrent change of the same booking.
+   * Only for operations that read the booking again and whose outcome doesn't depend on what the
+   * client saw before: cancelling, reactivating (which checks the overlap again) and deleting. A
+   * full update is never retried, as it would overwrite the change it lost against.
+   */
+  private void retryOnConflict(String operation, Runnable action) {
+    final var maxAttempts = bookingProperties.getOptimisticLocking().getMaxAttempts();
+    for (int attempt = 1; ; attempt++) {
+      try {
+        action.run();
+        return;
+      } catch (OptimisticLockingFailureException e) {
+        if (attempt >= maxAttempts) {
+          throw e;
+        }
+        bookingMetrics.countConflictRetry(operation);
+      }
+    }
+  }
+
+  private static void checkVersion(Booking booking, Long expectedVersion) {
+    if (expectedVersion != null && !expectedVersion.equals(booking.getVersion())) {
+      throw new PreconditionFailedException(
+          "Booking " + booking.getId() + " has changed since version " + expectedVersion);
+    }
   }
 
-  private void setOwnerOrGuest(BookingRequest bookingRequest, Booking booking) {
-    if (bookingRequest.getOwnerId() != null) {
-      booking.setOwner(getOwner(bookingRequest.getOwnerId()));
+  /**
+   * Sets the guest or owner and the property of the request, read together in one statement on the
+   * request thread. When one of them is missing, they are looked up one by one to report the
+   * missing one, the guest or owner first.
+   */
+  private void setReferences(BookingRequest bookingRequest, Booking booking) {
+    final var ownerId = bookingRequest.getOwnerId();
+    final var propertyId = bookingRequest.getPropertyId();
+    if (ownerId != null) {
+      final var references = propertyRepository.findWithOwner(propertyId, ownerId);
+      booking.setOwner(
+          references.map(PropertyWithOwner::getOwner).orElseGet(() -> getOwner(ownerId)));
       booking.setGuest(null);
+      booking.setProperty(
+          references.map(PropertyWithOwner::getProperty).orElseGet(() -> getProperty(propertyId)));
     } else {
-      booking.setGuest(getGuest(bookingRequest.getGuestId()));
+      final var guestId = bookingRequest.getGuestId();
+      final var references = propertyRepository.findWithGuest(propertyId, guestId);
+      booking.setGuest(
+          references.map(PropertyWithGuest::getGuest).orElseGet(() -> getGuest(guestId)));
       booking.setOwner(null);
+      booking.setProperty(
+          references.map(PropertyWithGuest::getProperty).orElseGet(() -> getProperty(propertyId)));
     }
   }
 
@@ -1,38 +1,71 @@
 package com.hostfully.bookingservice.service;
 
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.config.BookingProperties.OverlapCheck;
 import com.hostfully.bookingservice.controller.vo.BookingRequest;
 import com.hostfully.bookingservice.domain.Booking;
 import com.hostfully.bookingservice.repository.BookingRepository;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 
 @Service
 @RequiredArgsConstructor
 public class BookingValidationService {
 
+  public static final String OVERLAP_MESSAGE = "Property is already booked for the selected dates";
+
+  /**
+   * Nights a booking may span, start and end included. Each night is a row of the property night
+   * table, and the backfill of data.sql covers that many.
+   */
+  public static final int MAX_NIGHTS = 366;
+
   private final BookingRepository bookingRepository;
+  private final BookingIntervalIndex bookingIntervalIndex;
+  private final BookingProperties bookingProperties;
+  private final BookingMetrics bookingMetrics;
 
   public void validateBooking(BookingRequest bookingRequest, Long bookingId) {
-    final var currentDate = LocalDate.now();
-    final var startDate = bookingRequest.getStart();
-    final var endDate = bookingRequest.getEnd();
+    validateRequest(bookingRequest);
+    validateBookingOverlap(
+        bookingId,
+        bookingRequest.getPropertyId(),
+        bookingRequest.getStart(),
+        bookingRequest.getEnd());
+  }
+
+  public void validateRequest(BookingRequest bookingRequest) {
+    final var today = LocalDate.now();
+    validateDates(bookingRequest.getStart(), bookingRequest.getEnd(), today);
+    validateHorizon(bookingRequest.getStart(), bookingRequest.getEnd(), today);
+    validateGuestAndOwner(bookingRequest);
+  }
 
-    validateDates(startDate, endDate, currentDate);
+  /** Checks an imported booking, which unlike a new one may have taken place already. */
+  public void validateImportedRequest(BookingRequest bookingRequest) {
+    validateOrder(bookingRequest.getStart(), bookingRequest.getEnd());
+    validateHorizon(bookingRequest.getStart(), bookingRequest.getEnd(), LocalDate.now());
     validateGuestAndOwner(bookingRequest);
-    validateBookingOverlap(bookingId, bookingRequest.getPropertyId(), startDate, endDate);
   }
 
   public void validateBookingOverlap(
       Long bookingId, Long propertyId, LocalDate startDate, LocalDate endDate) {
-    final var bookings =
-        bookingRepository.findActiveOverlappingBookings(propertyId, startDate, endDate);
-    if (!CollectionUtils.isEmpty(bookings)) {
-      if (bookings.size() == 1 && bookings.get(0).getId().equals(bookingId)) {
-        return;
-      }
-      throw new IllegalArgumentException("Property is already booked for the selected dates");
+    final var overlapCheck = bookingProperties.getOverlapCheck();
+    if (overlapCheck == OverlapCheck.CONSTRAINT) {
+      return;
+    }
+    final var useIndex = overlapCheck == OverlapCheck.INDEX && bookingIntervalIndex.isReady();
+    final var started = System.nanoTime();
+    final var overlaps =
+        useIndex
+            ? bookingIntervalIndex.hasOverlap(propertyId, startDate, endDate, bookingId)
+            : bookingRepository.existsActiveOverlap(propertyId, startDate, endDate, bookingId);
+    bookingMetrics.recordOverlapCheck(
+        useIndex ? "index" : "query", System.nanoTime() - started, overlaps);
+    if (overlaps) {
+      throw new IllegalArgumentException(OVERLAP_MESSAGE);
     }
   }
 
@@ -50,9 +83,7 @@ public class BookingValidationService {
   }
 
   private void validateDates(LocalDate startDate, LocalDate endDate, LocalDate currentDate) {
-    if (startDate.isAfter(endDate)) {
-      throw new IllegalArgumentException("Start date must be before end date");
-    }
+    validateOrder(startDate, endDate);
     if (currentDate.isAfter(startDate)) {
       throw new IllegalArgumentException("Start date must be in the future");
     }
@@ -61,8 +92,32 @@ public class BookingValidationService {
     }
   }
 
+  private void validateOrder(LocalDate startDate, LocalDate endDate) {
+    if (startDate.isAfter(endDate)) {
+      throw new IllegalArgumentException("Start date must be before end date");
+    }
+    if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_NIGHTS) {
+      throw new IllegalArgumentException("A booking can span at most " + MAX_NIGHTS + " nights");
+    }
+  }
+
+  /**
+   * Keeps the nights within the horizon around today, which bounds the availability calendar of a
+   * property.
+   */
+  private void validateHorizon(LocalDate startDate, LocalDate endDate, LocalDate currentDate) {
+    final var horizon = bookingProperties.getHorizon();
+    final var earliest = currentDate.minus(horizon);
+    final var latest = currentDate.plus(horizon);
+    if (startDate.isBefore(earliest) || endDate.isAfter(latest)) {
+      throw new IllegalArgumentException(
+          "Booking dates must be between " + earliest + " and " + latest);
+    }
+  }
+
   public void validateBlocking(Booking booking) {
-    if (!booking.getProperty().getOwner().equals(booking.getOwner())) {
+    final var propertyOwner = booking.getProperty().getOwner();
+    if (propertyOwner == null || !propertyOwner.getId().equals(booking.getOwner().getId())) {
       throw new IllegalArgumentException("Owner can only block his own property");
     }
   }
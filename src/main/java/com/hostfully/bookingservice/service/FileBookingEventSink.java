@@ -0,0 +1,40 @@
+package com.hostfully.bookingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.domain.BookingEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Appends the booking events to a file, one JSON object per line. */
+@Component
+@ConditionalOnProperty(prefix = "booking.outbox", name = "sink", havingValue = "file")
+@RequiredArgsConstructor
+public class FileBookingEventSink implements BookingEventSink {
+
+  private final ObjectMapper objectMapper;
+  private final BookingProperties bookingProperties;
+
+  @Override
+  public void publish(List<BookingEvent> events) {
+    final var lines = new StringBuilder();
+    try {
+      for (final var event : events) {
+        lines.append(objectMapper.writeValueAsString(event)).append('\n');
+      }
+      Files.writeString(
+          bookingProperties.getOutbox().getFile(),
+          lines,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.hostfully.bookingservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.controller.vo.BookingRequest;
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Remembers the bookings created under an {@code Idempotency-Key}, so that a retried creation is
+ * answered with the original response instead of being validated and saved again.
+ *
+ * <p>Keys are scoped by client: the same key sent by two clients names two creations, and no
+ * client can be answered with the booking of another.
+ *
+ * <p>The first request of a key registers a pending result before creating the booking; duplicates
+ * arriving meanwhile wait for it rather than running concurrently. A failed creation is forgotten,
+ * so it can be retried.
+ */
+@Service
+public class IdempotencyService {
+
+  public static final int MAX_KEY_LENGTH = 255;
+
+  private final AsyncCache<CreationKey, IdempotentCreation> creations;
+
+  public IdempotencyService(BookingProperties bookingProperties, MeterRegistry meterRegistry) {
+    final var idempotency = bookingProperties.getIdempotency();
+    creations =
+        Caffeine.newBuilder()
+            .maximumSize(idempotency.getMaximumSize())
+            .expireAfterWrite(idempotency.getTimeToLive())
+            .recordStats()
+            .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, creations, "booking.idempotency");
+  }
+
+  /**
+   * @param client the client sending the request, as named by the client resolver
+   */
+  public BookingResponse createOnce(
+      String client,
+      String key,
+      BookingRequest bookingRequest,
+      Supplier<BookingResponse> creation) {
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      throw new IllegalArgumentException(
+          "Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+    }
+    final var creationKey = new CreationKey(client, key);
+    final var pending = new CompletableFuture<IdempotentCreation>();
+    final var existing = creations.asMap().putIfAbsent(creationKey, pending);
+    if (existing == null) {
+      try {
+        final var response = creation.get();
+        pending.complete(new IdempotentCreation(bookingRequest, response));
+        return response;
+      } catch (RuntimeException e) {
+        creations.asMap().remove(creationKey, pending);
+        pending.completeExceptionally(e);
+        throw e;
+      }
+    }
+
+    final var previous = join(existing);
+    if (!previous.request().equals(bookingRequest)) {
+      throw new IllegalArgumentException(
+          "Idempotency-Key was already used for a different booking request: " + key);
+    }
+    return previous.response();
+  }
+
+  private static IdempotentCreation join(CompletableFuture<IdempotentCreation> creation) {
+    try {
+      return creation.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private record CreationKey(String client, String key) {}
+
+  private record IdempotentCreation(BookingRequest request, BookingResponse response) {}
+}
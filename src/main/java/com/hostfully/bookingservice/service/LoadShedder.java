@@ -0,0 +1,43 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells when the database connection pool is saturated, so requests can be refused up front
+ * rather than queue for a connection and time out after holding a thread for seconds.
+ */
+@Component
+public class LoadShedder {
+
+  private final BookingProperties.LoadShedding loadShedding;
+  private final HikariDataSource hikariDataSource;
+
+  public LoadShedder(DataSource dataSource, BookingProperties bookingProperties) {
+    loadShedding = bookingProperties.getLoadShedding();
+    hikariDataSource = unwrap(dataSource);
+  }
+
+  public boolean isSaturated() {
+    if (!loadShedding.isEnabled() || hikariDataSource == null) {
+      return false;
+    }
+    // Absent until the pool has started.
+    final var pool = hikariDataSource.getHikariPoolMXBean();
+    return pool != null
+        && pool.getThreadsAwaitingConnection() >= loadShedding.getMaxAwaitingConnection();
+  }
+
+  private static HikariDataSource unwrap(DataSource dataSource) {
+    try {
+      return dataSource.isWrapperFor(HikariDataSource.class)
+          ? dataSource.unwrap(HikariDataSource.class)
+          : null;
+    } catch (SQLException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.domain.BookingEvent;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Publishes the booking events to the application log, for local runs. */
+@Component
+@ConditionalOnProperty(
+    prefix = "booking.outbox",
+    name = "sink",
+    havingValue = "log",
+    matchIfMissing = true)
+@Slf4j
+public class LoggingBookingEventSink implements BookingEventSink {
+
+  @Override
+  public void publish(List<BookingEvent> events) {
+    for (final var event : events) {
+      log.info(
+          "Booking event {}: booking {} of property {} {} at version {}: {}",
+          event.getId(),
+          event.getBookingId(),
+          event.getPropertyId(),
+          event.getType(),
+          event.getVersion(),
+          event.getPayload());
+    }
+  }
+}
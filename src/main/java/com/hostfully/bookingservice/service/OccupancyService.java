@@ -0,0 +1,59 @@
+package com.hostfully.bookingservice.service;
+
+import static com.hostfully.bookingservice.service.BookingValidationService.OVERLAP_MESSAGE;
+
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.PropertyNight;
+import com.hostfully.bookingservice.repository.PropertyNightRepository;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the property nights of a booking in sync with it. Must be called inside the transaction
+ * that saves or deletes the booking, so a conflicting night rolls the booking back as well.
+ */
+@Service
+@RequiredArgsConstructor
+public class OccupancyService {
+
+  private final PropertyNightRepository propertyNightRepository;
+
+  public void occupy(Booking booking) {
+    propertyNightRepository.deleteByBookingId(booking.getId());
+    if (!Boolean.TRUE.equals(booking.getCanceled())) {
+      saveNights(nightsOf(booking).toList());
+    }
+  }
+
+  /** Occupies the nights of bookings that were just created and therefore hold none yet. */
+  public void occupyNew(List<Booking> bookings) {
+    saveNights(bookings.stream().flatMap(this::nightsOf).toList());
+  }
+
+  public void release(Long bookingId) {
+    propertyNightRepository.deleteByBookingId(bookingId);
+  }
+
+  public void releaseAll(List<Long> bookingIds) {
+    propertyNightRepository.deleteByBookingIdIn(bookingIds);
+  }
+
+  private Stream<PropertyNight> nightsOf(Booking booking) {
+    final var propertyId = booking.getProperty().getId();
+    return booking
+        .getStart()
+        .datesUntil(booking.getEnd().plusDays(1))
+        .map(night -> new PropertyNight(propertyId, night, booking.getId()));
+  }
+
+  private void saveNights(List<PropertyNight> nights) {
+    try {
+      propertyNightRepository.saveAllAndFlush(nights);
+    } catch (DataIntegrityViolationException e) {
+      throw new IllegalArgumentException(OVERLAP_MESSAGE, e);
+    }
+  }
+}
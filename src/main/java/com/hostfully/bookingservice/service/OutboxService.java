@@ -0,0 +1,53 @@
+package com.hostfully.bookingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.BookingEvent;
+import com.hostfully.bookingservice.domain.BookingEventType;
+import com.hostfully.bookingservice.repository.BookingEventRepository;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes the change events of bookings to the outbox, later published by {@link
+ * BookingEventRelay}. Must be called inside the transaction that saves or deletes the booking, so
+ * the event is committed or rolled back with it.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+  private final BookingEventRepository bookingEventRepository;
+  private final ObjectMapper objectMapper;
+
+  public void record(BookingEventType type, Booking booking) {
+    recordAll(type, List.of(booking));
+  }
+
+  public void recordAll(BookingEventType type, List<Booking> bookings) {
+    // Flushing first increments the version of changed bookings, which the events carry.
+    bookingEventRepository.flush();
+    final var now = Instant.now();
+    bookingEventRepository.saveAll(
+        bookings.stream().map(booking -> eventOf(type, booking, now)).toList());
+  }
+
+  private BookingEvent eventOf(BookingEventType type, Booking booking, Instant createdAt) {
+    final var event = new BookingEvent();
+    event.setType(type);
+    event.setBookingId(booking.getId());
+    event.setPropertyId(booking.getProperty().getId());
+    event.setVersion(booking.getVersion());
+    event.setCreatedAt(createdAt);
+    try {
+      event.setPayload(objectMapper.writeValueAsString(new BookingResponse(booking)));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize booking " + booking.getId(), e);
+    }
+    return event;
+  }
+}
@@ -0,0 +1,82 @@
+package com.hostfully.bookingservice.service;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes booking writes per property. Property ids are hashed onto a fixed number of lock
+ * stripes, so writes for the same property never run concurrently while writes for other
+ * properties stay parallel. The locks only cover this instance; across instances the property
+ * night constraint still rejects double bookings, so the locks can be disabled when the overlap
+ * check is left to the database.
+ */
+@Component
+public class PropertyLocks {
+
+  private final boolean enabled;
+  private final Lock[] stripes;
+
+  public PropertyLocks(BookingProperties bookingProperties) {
+    this.enabled = bookingProperties.getLocks().isEnabled();
+    this.stripes = new Lock[bookingProperties.getLocks().getStripes()];
+    Arrays.setAll(stripes, i -> new ReentrantLock());
+  }
+
+  public <T> T withLock(Long propertyId, Supplier<T> action) {
+    if (!enabled) {
+      return action.get();
+    }
+    final var lock = stripeFor(propertyId);
+    lock.lock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void runWithLock(Long propertyId, Runnable action) {
+    withLock(
+        propertyId,
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+
+  public <T> T withLocks(Collection<Long> propertyIds, Supplier<T> action) {
+    if (!enabled) {
+      return action.get();
+    }
+    // Stripes are always taken in the same order, so two batches cannot wait on each other.
+    final var locks =
+        propertyIds.stream()
+            .mapToInt(this::stripeIndex)
+            .distinct()
+            .sorted()
+            .mapToObj(index -> stripes[index])
+            .toList();
+    locks.forEach(Lock::lock);
+    try {
+      return action.get();
+    } finally {
+      for (int i = locks.size() - 1; i >= 0; i--) {
+        locks.get(i).unlock();
+      }
+    }
+  }
+
+  private Lock stripeFor(Long propertyId) {
+    return stripes[stripeIndex(propertyId)];
+  }
+
+  private int stripeIndex(Long propertyId) {
+    return Math.floorMod(Objects.hashCode(propertyId), stripes.length);
+  }
+}
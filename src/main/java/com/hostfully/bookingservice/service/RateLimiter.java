@@ -0,0 +1,82 @@
+package com.hostfully.bookingservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hostfully.bookingservice.config.BookingProperties;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the requests of each client to each endpoint with a token bucket per client and endpoint,
+ * configured by {@code booking.rate-limit}. Buckets of clients unseen for a while are dropped,
+ * which only refills them.
+ */
+@Component
+public class RateLimiter {
+
+  private static final Duration IDLE_BUCKET_EXPIRY = Duration.ofMinutes(10);
+
+  private final BookingProperties.RateLimit rateLimit;
+  private final Cache<String, TokenBucket> buckets;
+
+  public RateLimiter(BookingProperties bookingProperties) {
+    rateLimit = bookingProperties.getRateLimit();
+    buckets =
+        Caffeine.newBuilder()
+            .maximumSize(rateLimit.getMaxClients())
+            .expireAfterAccess(IDLE_BUCKET_EXPIRY)
+            .build();
+  }
+
+  /**
+   * Takes a permit of the client for the endpoint.
+   *
+   * @return {@code 0} when a permit was taken, otherwise the nanoseconds until one is available
+   */
+  public long tryAcquire(String client, String endpoint) {
+    return buckets
+        .get(endpoint + '|' + client, key -> newBucket(endpoint))
+        .tryAcquire(System.nanoTime());
+  }
+
+  private TokenBucket newBucket(String endpoint) {
+    final var limit = rateLimit.getEndpoints().getOrDefault(endpoint, rateLimit.getDefaultLimit());
+    return new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst());
+  }
+
+  /**
+   * A token bucket kept as the single time at which it would be full again (the generic cell rate
+   * algorithm), so a permit is taken with one compare-and-set and no lock.
+   */
+  public static final class TokenBucket {
+
+    private final long nanosPerPermit;
+    private final long toleranceNanos;
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+      nanosPerPermit = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+      toleranceNanos = nanosPerPermit * burst;
+    }
+
+    /**
+     * @param now {@link System#nanoTime()} of the request
+     * @return {@code 0} when a permit was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(long now) {
+      while (true) {
+        final var current = fullAt.get();
+        final var next = Math.max(current, now) + nanosPerPermit;
+        final var wait = next - now - toleranceNanos;
+        if (wait > 0) {
+          return wait;
+        }
+        if (fullAt.compareAndSet(current, next)) {
+          return 0;
+        }
+      }
+    }
+  }
+}
@@ -31,13 +31,27 @@ VALUES (4, 'Address 4', 4);
 INSERT INTO Property (id, address, owner_id)
 VALUES (5, 'Address 5', 5);
 
-INSERT INTO Booking (start_date, end_date, guest_id, property_id, canceled)
-VALUES ('2023-01-01', '2023-01-10', 1, 1, false);
-INSERT INTO Booking (start_date, end_date, guest_id, property_id, canceled)
-VALUES ('2023-02-01', '2023-02-10', 2, 2, false);
-INSERT INTO Booking (start_date, end_date, guest_id, property_id, canceled)
-VALUES ('2023-03-01', '2023-03-10', 3, 3, false);
-INSERT INTO Booking (start_date, end_date, guest_id, property_id, canceled)
-VALUES ('2023-04-01', '2023-04-10', 4, 4, false);
-INSERT INTO Booking (start_date, end_date, owner_id, property_id, canceled)
-VALUES ('2023-05-01', '2023-05-10', 5, 5, false);
\ No newline at end of file
+INSERT INTO Booking (id, start_date, end_date, guest_id, property_id, canceled, version)
+VALUES (1, '2023-01-01', '2023-01-10', 1, 1, false, 0);
+INSERT INTO Booking (id, start_date, end_date, guest_id, property_id, canceled, version)
+VALUES (2, '2023-02-01', '2023-02-10', 2, 2, false, 0);
+INSERT INTO Booking (id, start_date, end_date, guest_id, property_id, canceled, version)
+VALUES (3, '2023-03-01', '2023-03-10', 3, 3, false, 0);
+INSERT INTO Booking (id, start_date, end_date, guest_id, property_id, canceled, version)
+VALUES (4, '2023-04-01', '2023-04-10', 4, 4, false, 0);
+INSERT INTO Booking (id, start_date, end_date, owner_id, property_id, canceled, version)
+VALUES (5, '2023-05-01', '2023-05-10', 5, 5, false, 0);
+
+-- Ids are allocated by Hibernate in blocks starting at the current sequence value (pooled-lo),
+-- so the sequences have to start after the seeded rows.
+ALTER SEQUENCE guest_seq RESTART WITH 6;
+ALTER SEQUENCE owner_seq RESTART WITH 6;
+ALTER SEQUENCE property_seq RESTART WITH 6;
+ALTER SEQUENCE booking_seq RESTART WITH 6;
+
+-- Covers BookingValidationService.MAX_NIGHTS nights per booking.
+INSERT INTO Property_Night (property_id, night, booking_id)
+SELECT b.property_id, DATEADD('DAY', r.x, b.start_date), b.id
+FROM Booking b
+         JOIN SYSTEM_RANGE(0, 365) r ON DATEADD('DAY', r.x, b.start_date) <= b.end_date
+WHERE b.canceled = false;
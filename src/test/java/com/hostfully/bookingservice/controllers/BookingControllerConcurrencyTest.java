@@ -0,0 +1,89 @@
+package com.hostfully.bookingservice.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hostfully.bookingservice.controller.vo.BookingRequest;
+import com.hostfully.bookingservice.domain.BookingInterval;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:booking-concurrency-test",
+      "booking.rate-limit.enabled=false"
+    })
+class BookingControllerConcurrencyTest {
+
+  private static final int REQUESTS = 2000;
+  private static final int THREADS = 32;
+  private static final long PROPERTIES = 3;
+
+  @Autowired private TestRestTemplate restTemplate;
+
+  @Autowired private BookingRepository bookingRepository;
+
+  @Test
+  void concurrentCreationsShouldNeverProduceOverlappingActiveBookings() throws Exception {
+    final var random = new Random(42);
+    final var today = LocalDate.now();
+    final List<Callable<HttpStatus>> calls = new ArrayList<>();
+    for (int i = 0; i < REQUESTS; i++) {
+      BookingRequest bookingRequest = new BookingRequest();
+      bookingRequest.setPropertyId(1 + random.nextLong(PROPERTIES));
+      bookingRequest.setGuestId(1L);
+      bookingRequest.setStart(today.plusDays(1 + random.nextInt(180)));
+      bookingRequest.setEnd(bookingRequest.getStart().plusDays(random.nextInt(5)));
+      calls.add(
+          () ->
+              HttpStatus.valueOf(
+                  restTemplate
+                      .postForEntity("/v1/bookings", bookingRequest, String.class)
+                      .getStatusCode()
+                      .value()));
+    }
+
+    final var executor = Executors.newFixedThreadPool(THREADS);
+    final List<HttpStatus> statuses = new ArrayList<>();
+    try {
+      for (Future<HttpStatus> status : executor.invokeAll(calls)) {
+        statuses.add(status.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    final var created = statuses.stream().filter(HttpStatus.CREATED::equals).count();
+    final var rejected = statuses.stream().filter(HttpStatus.BAD_REQUEST::equals).count();
+    assertEquals(REQUESTS, created + rejected);
+    assertTrue(created > 0);
+
+    final var activeBookingsByProperty =
+        bookingRepository.findAll().stream()
+            .filter(booking -> !booking.getCanceled())
+            .map(BookingInterval::of)
+            .collect(Collectors.groupingBy(BookingInterval::propertyId));
+    for (List<BookingInterval> intervals : activeBookingsByProperty.values()) {
+      intervals.sort(Comparator.comparing(BookingInterval::start));
+      for (int i = 1; i < intervals.size(); i++) {
+        assertTrue(
+            intervals.get(i).start().isAfter(intervals.get(i - 1).end()),
+            () -> "Overlapping active bookings: " + intervals);
+      }
+    }
+  }
+}
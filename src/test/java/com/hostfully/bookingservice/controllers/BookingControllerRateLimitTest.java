@@ -0,0 +1,69 @@
+package com.hostfully.bookingservice.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:booking-rate-limit-test",
+      "booking.clients.trusted-proxies=127.0.0.1",
+      "booking.rate-limit.endpoints[BookingController.getBooking].permits-per-second=0.01",
+      "booking.rate-limit.endpoints[BookingController.getBooking].burst=2"
+    })
+@AutoConfigureMockMvc
+class BookingControllerRateLimitTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Test
+  void getBookingShouldBeRefusedOnceTheClientUsedItsBurst() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(get("/v1/bookings/1").header("X-Api-Id", "flooding-client"))
+          .andExpect(status().isOk());
+    }
+
+    mockMvc
+        .perform(get("/v1/bookings/1").header("X-Api-Id", "flooding-client"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "100"))
+        .andExpect(jsonPath("$.code").value(429));
+
+    mockMvc
+        .perform(get("/v1/bookings/1").header("X-Api-Id", "other-client"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void clientHeaderShouldBeIgnoredFromAnUntrustedAddress() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(
+              get("/v1/bookings/1")
+                  .header("X-Api-Id", "client-" + i)
+                  .with(fromAddress("192.0.2.1")))
+          .andExpect(status().isOk());
+    }
+
+    mockMvc
+        .perform(
+            get("/v1/bookings/1").header("X-Api-Id", "client-2").with(fromAddress("192.0.2.1")))
+        .andExpect(status().isTooManyRequests());
+  }
+
+  private static RequestPostProcessor fromAddress(String remoteAddress) {
+    return request -> {
+      request.setRemoteAddr(remoteAddress);
+      return request;
+    };
+  }
+}
@@ -0,0 +1,57 @@
+package com.hostfully.bookingservice.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:booking-statistics-test",
+      "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
+@AutoConfigureMockMvc
+class BookingControllerStatisticsTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  public void setup() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void getBookingShouldRunASingleStatement() throws Exception {
+    mockMvc
+        .perform(get("/v1/bookings/1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.bookingId").value(1))
+        .andExpect(jsonPath("$.propertyId").isNumber());
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void getBookingShouldLookInTheArchiveOnlyWhenBookingDoesNotExist() throws Exception {
+    mockMvc.perform(get("/v1/bookings/999999")).andExpect(status().isBadRequest());
+
+    // One statement for the bookings, one for the archived bookings.
+    assertEquals(2, statistics.getPrepareStatementCount());
+  }
+}
@@ -1,19 +1,43 @@
 package com.hostfully.bookingservice.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.bookingservice.controller.vo.BookingBatchRequest;
+import com.hostfully.bookingservice.controller.vo.BookingBatchResponse;
+import com.hostfully.bookingservice.controller.vo.BookingImportResponse;
+import com.hostfully.bookingservice.controller.vo.BookingPageResponse;
 import com.hostfully.bookingservice.controller.vo.BookingPatchStatus;
 import com.hostfully.bookingservice.controller.vo.BookingRequest;
 import com.hostfully.bookingservice.controller.vo.BookingResponse;
 import com.hostfully.bookingservice.domain.Booking;
 import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.exception.PreconditionFailedException;
+import com.hostfully.bookingservice.service.BookingBatchService;
+import com.hostfully.bookingservice.service.BookingFileFormat;
+import com.hostfully.bookingservice.service.BookingImportService;
+import com.hostfully.bookingservice.service.BookingSearchService;
 import com.hostfully.bookingservice.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +45,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 @SpringBootTest
@@ -31,8 +56,16 @@ class BookingControllerTest {
 
   @Autowired private ObjectMapper objectMapper;
 
+  @Autowired private MeterRegistry meterRegistry;
+
   @MockBean private BookingService bookingService;
 
+  @MockBean private BookingBatchService bookingBatchService;
+
+  @MockBean private BookingSearchService bookingSearchService;
+
+  @MockBean private BookingImportService bookingImportService;
+
   @BeforeEach
   public void setup() {
     Booking booking = new Booking();
@@ -48,6 +81,110 @@ class BookingControllerTest {
         .andExpect(status().isOk());
   }
 
+  @Test
+  void getBookingCountsTheRejectionReason() throws Exception {
+    when(bookingService.getBooking(2L))
+        .thenThrow(new NoSuchElementException("Booking not found with id: 2"));
+    final var counter =
+        meterRegistry.counter(
+            "booking.errors",
+            "status",
+            "400",
+            "exception",
+            "NoSuchElementException",
+            "reason",
+            "Booking not found with id");
+    final var before = counter.count();
+
+    mockMvc
+        .perform(get("/v1/bookings/2").contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest());
+
+    assertEquals(before + 1, counter.count());
+  }
+
+  @Test
+  void findBookingsReturnsPageWithNextCursor() throws Exception {
+    final var start = LocalDate.of(2030, 1, 1);
+    final var bookingResponse =
+        new BookingResponse(5L, start, start.plusDays(2), 1L, null, false, 1L, 0L);
+    when(bookingSearchService.findBookings(
+            1L, null, start, start.plusDays(10), false, "2029-12-30_4", 1))
+        .thenReturn(new BookingPageResponse(List.of(bookingResponse), "2030-01-01_5"));
+
+    mockMvc
+        .perform(
+            get("/v1/bookings")
+                .param("propertyId", "1")
+                .param("from", "2030-01-01")
+                .param("to", "2030-01-11")
+                .param("canceled", "false")
+                .param("after", "2029-12-30_4")
+                .param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.bookings[0].bookingId").value(5))
+        .andExpect(jsonPath("$.nextCursor").value("2030-01-01_5"));
+  }
+
+  @Test
+  void findBookingsOmitsNextCursorOnLastPage() throws Exception {
+    when(bookingSearchService.findBookings(null, 2L, null, null, null, null, 100))
+        .thenReturn(new BookingPageResponse(Collections.emptyList(), null));
+
+    mockMvc
+        .perform(get("/v1/bookings").param("guestId", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.bookings").isEmpty())
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  void findBookingsReturnsBadRequestForInvalidCursor() throws Exception {
+    when(bookingSearchService.findBookings(null, null, null, null, null, "nope", 100))
+        .thenThrow(new IllegalArgumentException("Invalid cursor: nope"));
+
+    mockMvc
+        .perform(get("/v1/bookings").param("after", "nope"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void importBookingsReadsCsvBody() throws Exception {
+    final var importResponse = new BookingImportResponse();
+    importResponse.setImported(1);
+    when(bookingImportService.importBookings(any(), eq(BookingFileFormat.CSV)))
+        .thenReturn(importResponse);
+
+    mockMvc
+        .perform(
+            post("/v1/bookings/import")
+                .contentType("text/csv")
+                .content("1,2020-01-01,2020-01-05,1,\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(1));
+  }
+
+  @Test
+  void exportBookingsStreamsCsv() throws Exception {
+    final var result =
+        mockMvc
+            .perform(get("/v1/bookings/export").param("format", "csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn();
+
+    final var lines = result.getResponse().getContentAsString().split("\n");
+    assertEquals("bookingId,propertyId,start,end,guestId,ownerId,canceled", lines[0]);
+  }
+
+  @Test
+  void exportBookingsReturnsBadRequestForUnknownFormat() throws Exception {
+    mockMvc
+        .perform(get("/v1/bookings/export").param("format", "xml"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.details[0]").value("Format must be ndjson or csv"));
+  }
+
   @Test
   void createBookingReturnsCreatedBookingResponse() throws Exception {
     BookingRequest bookingRequest = new BookingRequest();
@@ -67,6 +204,91 @@ class BookingControllerTest {
         .andExpect(status().isCreated());
   }
 
+  @Test
+  void createBookingReplaysRetriesWithTheSameIdempotencyKey() throws Exception {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now());
+    bookingRequest.setEnd(LocalDate.now().plusDays(1));
+    bookingRequest.setPropertyId(1L);
+    BookingResponse bookingResponse =
+        new BookingResponse(7L, LocalDate.now(), LocalDate.now(), 1L, null, false, 1L, 0L);
+    when(bookingService.createBooking(any(BookingRequest.class))).thenReturn(bookingResponse);
+    final var idempotencyKey = UUID.randomUUID().toString();
+
+    for (int attempt = 0; attempt < 2; attempt++) {
+      mockMvc
+          .perform(
+              post("/v1/bookings")
+                  .header("Idempotency-Key", idempotencyKey)
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(objectMapper.writeValueAsString(bookingRequest)))
+          .andExpect(status().isCreated());
+    }
+
+    verify(bookingService, times(1)).createBooking(any(BookingRequest.class));
+  }
+
+  @Test
+  void createBookingDoesNotReplayTheIdempotencyKeyOfAnotherClient() throws Exception {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now());
+    bookingRequest.setEnd(LocalDate.now().plusDays(1));
+    bookingRequest.setPropertyId(1L);
+    BookingResponse bookingResponse =
+        new BookingResponse(7L, LocalDate.now(), LocalDate.now(), 1L, null, false, 1L, 0L);
+    when(bookingService.createBooking(any(BookingRequest.class))).thenReturn(bookingResponse);
+    final var idempotencyKey = UUID.randomUUID().toString();
+
+    for (final var remoteAddress : List.of("192.0.2.1", "192.0.2.2")) {
+      mockMvc
+          .perform(
+              post("/v1/bookings")
+                  .header("Idempotency-Key", idempotencyKey)
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(objectMapper.writeValueAsString(bookingRequest))
+                  .with(
+                      request -> {
+                        request.setRemoteAddr(remoteAddress);
+                        return request;
+                      }))
+          .andExpect(status().isCreated());
+    }
+
+    verify(bookingService, times(2)).createBooking(any(BookingRequest.class));
+  }
+
+  @Test
+  void createBookingsReturnsBatchResponse() throws Exception {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now());
+    bookingRequest.setEnd(LocalDate.now().plusDays(1));
+    bookingRequest.setPropertyId(1L);
+    BookingBatchRequest bookingBatchRequest = new BookingBatchRequest();
+    bookingBatchRequest.setBookings(List.of(bookingRequest));
+    when(bookingBatchService.createBookings(any()))
+        .thenReturn(new BookingBatchResponse(Collections.emptyList()));
+
+    mockMvc
+        .perform(
+            post("/v1/bookings/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingBatchRequest)))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void createBookingsReturnsBadRequestWhenBatchIsEmpty() throws Exception {
+    BookingBatchRequest bookingBatchRequest = new BookingBatchRequest();
+    bookingBatchRequest.setBookings(Collections.emptyList());
+
+    mockMvc
+        .perform(
+            post("/v1/bookings/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingBatchRequest)))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void updateBookingReturnsUpdatedBookingResponse() throws Exception {
     BookingRequest bookingRequest = new BookingRequest();
@@ -76,7 +298,7 @@ class BookingControllerTest {
     Booking booking = new Booking();
     booking.setProperty(new Property());
     BookingResponse bookingResponse = new BookingResponse(booking);
-    when(bookingService.updateBooking(any(BookingRequest.class), anyLong()))
+    when(bookingService.updateBooking(any(BookingRequest.class), anyLong(), isNull()))
         .thenReturn(bookingResponse);
 
     mockMvc
@@ -87,6 +309,79 @@ class BookingControllerTest {
         .andExpect(status().isOk());
   }
 
+  @Test
+  void getBookingReturnsVersionAsETag() throws Exception {
+    when(bookingService.getBooking(3L))
+        .thenReturn(
+            new BookingResponse(3L, LocalDate.now(), LocalDate.now(), 1L, null, false, 1L, 4L));
+
+    mockMvc
+        .perform(get("/v1/bookings/3"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"4\""));
+  }
+
+  @Test
+  void getBookingReturnsNotModifiedWhenVersionIsUnchanged() throws Exception {
+    when(bookingService.getBookingVersion(3L)).thenReturn(4L);
+
+    mockMvc
+        .perform(get("/v1/bookings/3").header("If-None-Match", "\"4\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"4\""));
+
+    verify(bookingService, never()).getBooking(3L);
+  }
+
+  @Test
+  void updateBookingPassesTheIfMatchVersion() throws Exception {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setPropertyId(1L);
+    bookingRequest.setStart(LocalDate.now());
+    bookingRequest.setEnd(LocalDate.now().plusDays(1));
+    when(bookingService.updateBooking(any(BookingRequest.class), eq(3L), eq(4L)))
+        .thenReturn(
+            new BookingResponse(3L, LocalDate.now(), LocalDate.now(), 1L, null, false, 1L, 5L));
+
+    mockMvc
+        .perform(
+            put("/v1/bookings/3")
+                .header("If-Match", "\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"5\""));
+  }
+
+  @Test
+  void patchBookingReturnsPreconditionFailedWhenVersionIsStale() throws Exception {
+    doThrow(new PreconditionFailedException("Booking 3 has changed since version 4"))
+        .when(bookingService)
+        .patchBooking(3L, new BookingPatchStatus(true), 4L);
+
+    mockMvc
+        .perform(
+            patch("/v1/bookings/3")
+                .header("If-Match", "\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingPatchStatus(true))))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  void patchBookingReturnsConflictWhenAConcurrentChangeWins() throws Exception {
+    doThrow(new ObjectOptimisticLockingFailureException(Booking.class, 3L))
+        .when(bookingService)
+        .patchBooking(3L, new BookingPatchStatus(false), null);
+
+    mockMvc
+        .perform(
+            patch("/v1/bookings/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingPatchStatus(false))))
+        .andExpect(status().isConflict());
+  }
+
   @Test
   void patchBookingReturnsOkStatus() throws Exception {
     BookingPatchStatus bookingPatchStatus = new BookingPatchStatus();
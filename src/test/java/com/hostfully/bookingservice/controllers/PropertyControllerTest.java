@@ -0,0 +1,59 @@
+package com.hostfully.bookingservice.controllers;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.hostfully.bookingservice.controller.vo.AvailablePropertiesResponse;
+import com.hostfully.bookingservice.controller.vo.DateRange;
+import com.hostfully.bookingservice.controller.vo.PropertyAvailabilityResponse;
+import com.hostfully.bookingservice.service.AvailabilityService;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PropertyControllerTest {
+
+  private static final LocalDate FROM = LocalDate.of(2030, 1, 1);
+  private static final LocalDate TO = LocalDate.of(2030, 1, 31);
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private AvailabilityService availabilityService;
+
+  @Test
+  void getAvailabilityReturnsFreeRanges() throws Exception {
+    when(availabilityService.getAvailability(1L, FROM, TO))
+        .thenReturn(
+            new PropertyAvailabilityResponse(1L, FROM, TO, List.of(new DateRange(FROM, TO))));
+
+    mockMvc
+        .perform(get("/v1/properties/1/availability?from=2030-01-01&to=2030-01-31"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.available[0].start").value("2030-01-01"));
+  }
+
+  @Test
+  void getAvailabilityReturnsBadRequestWhenPeriodIsMissing() throws Exception {
+    mockMvc.perform(get("/v1/properties/1/availability")).andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void findAvailablePropertiesReturnsPropertyIds() throws Exception {
+    when(availabilityService.findAvailableProperties(FROM, TO, null, 100))
+        .thenReturn(new AvailablePropertiesResponse(FROM, TO, List.of(2L, 3L), null));
+
+    mockMvc
+        .perform(get("/v1/properties/available?start=2030-01-01&end=2030-01-31"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.propertyIds[1]").value(3));
+  }
+}
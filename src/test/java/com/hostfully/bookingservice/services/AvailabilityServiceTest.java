@@ -0,0 +1,137 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.hostfully.bookingservice.controller.vo.DateRange;
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.BookingInterval;
+import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.repository.PropertyRepository;
+import com.hostfully.bookingservice.service.AvailabilityCalendar;
+import com.hostfully.bookingservice.service.AvailabilityService;
+import com.hostfully.bookingservice.service.BookingIntervalIndex;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+
+class AvailabilityServiceTest {
+
+  private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+  @Mock private PropertyRepository propertyRepository;
+
+  @Mock private BookingRepository bookingRepository;
+
+  private AvailabilityService availabilityService;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    final var availabilityCalendar = new AvailabilityCalendar();
+    final var bookingIntervalIndex =
+        new BookingIntervalIndex(bookingRepository, availabilityCalendar);
+    when(bookingRepository.findAllActiveIntervals())
+        .thenReturn(
+            List.of(
+                new BookingInterval(1L, 1L, DAY.plusDays(2), DAY.plusDays(3)),
+                new BookingInterval(2L, 1L, DAY.plusDays(6), DAY.plusDays(20))));
+    bookingIntervalIndex.warmUp();
+    availabilityService =
+        new AvailabilityService(
+            propertyRepository, bookingRepository, bookingIntervalIndex, availabilityCalendar);
+    when(propertyRepository.findById(1L)).thenReturn(Optional.of(new Property()));
+  }
+
+  @Test
+  void getAvailabilityShouldReturnFreeRangesOfThePeriod() {
+    final var availability = availabilityService.getAvailability(1L, DAY, DAY.plusDays(10));
+
+    assertEquals(
+        List.of(
+            new DateRange(DAY, DAY.plusDays(1)), new DateRange(DAY.plusDays(4), DAY.plusDays(5))),
+        availability.getAvailable());
+  }
+
+  @Test
+  void getAvailabilityShouldReturnWholePeriodWhenNothingIsBooked() {
+    final var availability =
+        availabilityService.getAvailability(1L, DAY.plusDays(21), DAY.plusDays(30));
+
+    assertEquals(
+        List.of(new DateRange(DAY.plusDays(21), DAY.plusDays(30))), availability.getAvailable());
+  }
+
+  @Test
+  void getAvailabilityShouldFallBackToDatabaseBeforeIndexIsLoaded() {
+    Booking booking = new Booking();
+    booking.setStart(DAY.minusDays(3));
+    booking.setEnd(DAY.plusDays(1));
+    when(bookingRepository.findActiveOverlappingBookings(2L, DAY, DAY.plusDays(3)))
+        .thenReturn(List.of(booking));
+    when(propertyRepository.findById(2L)).thenReturn(Optional.of(new Property()));
+    final var unloadedIndex =
+        new BookingIntervalIndex(bookingRepository, new AvailabilityCalendar());
+    final var service =
+        new AvailabilityService(
+            propertyRepository, bookingRepository, unloadedIndex, new AvailabilityCalendar());
+
+    final var availability = service.getAvailability(2L, DAY, DAY.plusDays(3));
+
+    assertEquals(
+        List.of(new DateRange(DAY.plusDays(2), DAY.plusDays(3))), availability.getAvailable());
+  }
+
+  @Test
+  void getAvailabilityShouldThrowExceptionWhenPropertyDoesNotExist() {
+    when(propertyRepository.findById(9L)).thenReturn(Optional.empty());
+
+    final var message =
+        assertThrows(
+                NoSuchElementException.class,
+                () -> availabilityService.getAvailability(9L, DAY, DAY.plusDays(1)))
+            .getMessage();
+    assertEquals("Property not found with id: 9", message);
+  }
+
+  @Test
+  void findAvailablePropertiesShouldReturnCursorWhenPageIsFull() {
+    when(propertyRepository.findAvailablePropertyIds(
+            DAY, DAY.plusDays(5), 3L, PageRequest.ofSize(2)))
+        .thenReturn(List.of(4L, 7L));
+
+    final var response = availabilityService.findAvailableProperties(DAY, DAY.plusDays(5), 3L, 2);
+
+    assertEquals(List.of(4L, 7L), response.getPropertyIds());
+    assertEquals(7L, response.getNextCursor());
+  }
+
+  @Test
+  void findAvailablePropertiesShouldStartFromFirstPropertyWithoutCursor() {
+    when(propertyRepository.findAvailablePropertyIds(
+            DAY, DAY.plusDays(5), 0L, PageRequest.ofSize(100)))
+        .thenReturn(List.of(1L));
+
+    final var response =
+        availabilityService.findAvailableProperties(DAY, DAY.plusDays(5), null, 100);
+
+    assertEquals(List.of(1L), response.getPropertyIds());
+    assertNull(response.getNextCursor());
+  }
+
+  @Test
+  void getAvailabilityShouldThrowExceptionWhenPeriodIsTooLong() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> availabilityService.getAvailability(1L, DAY, DAY.plusDays(400)));
+  }
+}
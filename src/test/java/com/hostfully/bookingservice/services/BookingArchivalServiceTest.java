@@ -0,0 +1,120 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.BookingArchive;
+import com.hostfully.bookingservice.domain.Guest;
+import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.repository.BookingArchiveRepository;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.service.BookingArchivalService;
+import com.hostfully.bookingservice.service.BookingIntervalIndex;
+import com.hostfully.bookingservice.service.BookingMetrics;
+import com.hostfully.bookingservice.service.OccupancyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class BookingArchivalServiceTest {
+
+  private static final LocalDate CUTOFF = LocalDate.of(2030, 1, 1);
+
+  @Mock private BookingRepository bookingRepository;
+
+  @Mock private BookingArchiveRepository bookingArchiveRepository;
+
+  @Mock private BookingIntervalIndex bookingIntervalIndex;
+
+  @Mock private OccupancyService occupancyService;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private BookingArchivalService bookingArchivalService;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    final var bookingProperties = new BookingProperties();
+    bookingProperties.getArchival().setBatchSize(2);
+    bookingArchivalService =
+        new BookingArchivalService(
+            bookingRepository,
+            bookingArchiveRepository,
+            bookingIntervalIndex,
+            occupancyService,
+            new TransactionTemplate(transactionManager),
+            new BookingMetrics(new SimpleMeterRegistry()),
+            bookingProperties);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void archiveEndingBeforeShouldMoveBookingsBatchAfterBatch() {
+    final var first = List.of(booking(1L), booking(2L));
+    final var second = List.of(booking(3L));
+    when(bookingRepository.findEndingBefore(CUTOFF, PageRequest.of(0, 2)))
+        .thenReturn(first, second);
+
+    final var archived = bookingArchivalService.archiveEndingBefore(CUTOFF);
+
+    assertEquals(3, archived);
+    final ArgumentCaptor<List<BookingArchive>> archives = ArgumentCaptor.forClass(List.class);
+    verify(bookingArchiveRepository, times(2)).saveAll(archives.capture());
+    assertEquals(1L, archives.getAllValues().get(0).get(0).getId());
+    assertEquals(7L, archives.getAllValues().get(0).get(0).getGuestId());
+    assertEquals(5L, archives.getAllValues().get(0).get(0).getPropertyId());
+    verify(occupancyService).releaseAll(List.of(1L, 2L));
+    verify(occupancyService).releaseAll(List.of(3L));
+    verify(bookingRepository).deleteAll(first);
+    verify(bookingRepository).deleteAll(second);
+    verify(bookingIntervalIndex).remove(1L);
+    verify(bookingIntervalIndex).remove(2L);
+    verify(bookingIntervalIndex).remove(3L);
+  }
+
+  @Test
+  void archiveEndingBeforeShouldStopWhenABookingChangesMeanwhile() {
+    final var bookings = List.of(booking(1L), booking(2L));
+    when(bookingRepository.findEndingBefore(any(), any())).thenReturn(bookings);
+    doThrow(new ObjectOptimisticLockingFailureException(Booking.class, 2L))
+        .when(bookingRepository)
+        .deleteAll(bookings);
+
+    final var archived = bookingArchivalService.archiveEndingBefore(CUTOFF);
+
+    assertEquals(0, archived);
+    verify(bookingIntervalIndex, never()).remove(any());
+  }
+
+  private static Booking booking(Long id) {
+    final var guest = new Guest();
+    guest.setId(7L);
+    final var property = new Property();
+    property.setId(5L);
+    final var booking = new Booking();
+    booking.setId(id);
+    booking.setStart(CUTOFF.minusDays(10));
+    booking.setEnd(CUTOFF.minusDays(5));
+    booking.setCanceled(false);
+    booking.setGuest(guest);
+    booking.setProperty(property);
+    return booking;
+  }
+}
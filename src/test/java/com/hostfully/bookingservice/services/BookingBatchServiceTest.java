@@ -0,0 +1,145 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.controller.vo.BookingRequest;
+import com.hostfully.bookingservice.domain.BookingEventType;
+import com.hostfully.bookingservice.domain.Guest;
+import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.repository.GuestRepository;
+import com.hostfully.bookingservice.repository.OwnerRepository;
+import com.hostfully.bookingservice.repository.PropertyRepository;
+import com.hostfully.bookingservice.service.BookingBatchService;
+import com.hostfully.bookingservice.service.BookingIntervalIndex;
+import com.hostfully.bookingservice.service.BookingValidationService;
+import com.hostfully.bookingservice.service.OccupancyService;
+import com.hostfully.bookingservice.service.OutboxService;
+import com.hostfully.bookingservice.service.PropertyLocks;
+import jakarta.validation.Validation;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class BookingBatchServiceTest {
+
+  @Mock private BookingRepository bookingRepository;
+
+  @Mock private PropertyRepository propertyRepository;
+
+  @Mock private GuestRepository guestRepository;
+
+  @Mock private OwnerRepository ownerRepository;
+
+  @Mock private BookingValidationService bookingValidationService;
+
+  @Mock private BookingIntervalIndex bookingIntervalIndex;
+
+  @Mock private OccupancyService occupancyService;
+
+  @Mock private OutboxService outboxService;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private BookingBatchService bookingBatchService;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    bookingBatchService =
+        new BookingBatchService(
+            bookingRepository,
+            propertyRepository,
+            guestRepository,
+            ownerRepository,
+            bookingValidationService,
+            bookingIntervalIndex,
+            new PropertyLocks(new BookingProperties()),
+            occupancyService,
+            outboxService,
+            new TransactionTemplate(transactionManager),
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    Property property = new Property();
+    property.setId(1L);
+    when(propertyRepository.findAllById(anyList())).thenReturn(List.of(property));
+    when(guestRepository.findAllById(anyList())).thenReturn(List.of(new Guest(1L)));
+  }
+
+  @Test
+  void createBookingsShouldRejectBookingsOverlappingEarlierOnesOfTheBatch() {
+    final var response =
+        bookingBatchService.createBookings(
+            List.of(request(1L, 1, 5), request(1L, 5, 8), request(1L, 6, 9)));
+
+    assertEquals(2, response.getCreated());
+    assertEquals(1, response.getRejected());
+    assertEquals(201, response.getResults().get(0).getStatus());
+    assertEquals(400, response.getResults().get(1).getStatus());
+    assertEquals(
+        List.of("Booking overlaps another booking of the same batch"),
+        response.getResults().get(1).getErrors());
+    assertEquals(201, response.getResults().get(2).getStatus());
+    verify(bookingRepository, times(1)).saveAll(anyList());
+    verify(occupancyService, times(1)).occupyNew(anyList());
+    verify(outboxService, times(1)).recordAll(eq(BookingEventType.CREATED), anyList());
+  }
+
+  @Test
+  void createBookingsShouldNotLetABookingRefusedByTheSavedOnesRejectALaterOne() {
+    final var taken = request(1L, 1, 5);
+    doThrow(new IllegalArgumentException(BookingValidationService.OVERLAP_MESSAGE))
+        .when(bookingValidationService)
+        .validateBookingOverlap(null, 1L, taken.getStart(), taken.getEnd());
+
+    final var response = bookingBatchService.createBookings(List.of(taken, request(1L, 3, 8)));
+
+    assertEquals(
+        List.of(BookingValidationService.OVERLAP_MESSAGE),
+        response.getResults().get(0).getErrors());
+    assertEquals(201, response.getResults().get(1).getStatus());
+  }
+
+  @Test
+  void createBookingsShouldReportUnknownReferencesPerBooking() {
+    final var response =
+        bookingBatchService.createBookings(List.of(request(2L, 1, 2), request(1L, 1, 2)));
+
+    assertEquals(
+        List.of("Property not found with id: 2"), response.getResults().get(0).getErrors());
+    assertNull(response.getResults().get(1).getErrors());
+    assertEquals(1L, response.getResults().get(1).getBooking().getPropertyId());
+  }
+
+  @Test
+  void createBookingsShouldReportMissingMandatoryFields() {
+    BookingRequest bookingRequest = request(1L, 1, 2);
+    bookingRequest.setStart(null);
+
+    final var response = bookingBatchService.createBookings(List.of(bookingRequest));
+
+    assertEquals(List.of("start: must not be null"), response.getResults().get(0).getErrors());
+  }
+
+  private static BookingRequest request(Long propertyId, int startDay, int endDay) {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setPropertyId(propertyId);
+    bookingRequest.setGuestId(1L);
+    bookingRequest.setStart(LocalDate.now().plusDays(startDay));
+    bookingRequest.setEnd(LocalDate.now().plusDays(endDay));
+    return bookingRequest;
+  }
+}
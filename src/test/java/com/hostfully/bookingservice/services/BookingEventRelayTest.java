@@ -0,0 +1,84 @@
+package com.hostfully.bookingservice.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.domain.BookingEvent;
+import com.hostfully.bookingservice.repository.BookingEventRepository;
+import com.hostfully.bookingservice.service.BookingEventRelay;
+import com.hostfully.bookingservice.service.BookingEventSink;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+
+class BookingEventRelayTest {
+
+  @Mock private BookingEventRepository bookingEventRepository;
+
+  @Mock private BookingEventSink bookingEventSink;
+
+  private BookingEventRelay bookingEventRelay;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    final var bookingProperties = new BookingProperties();
+    bookingProperties.getOutbox().setBatchSize(2);
+    bookingEventRelay =
+        new BookingEventRelay(bookingEventRepository, bookingEventSink, bookingProperties);
+  }
+
+  @Test
+  void relayShouldPublishThenRemoveEveryPendingBatch() {
+    final var first = List.of(event(1L), event(2L));
+    final var second = List.of(event(3L));
+    when(bookingEventRepository.findByOrderByIdAsc(PageRequest.of(0, 2)))
+        .thenReturn(first, second);
+
+    bookingEventRelay.relay();
+
+    final var inOrder = inOrder(bookingEventSink, bookingEventRepository);
+    inOrder.verify(bookingEventSink).publish(first);
+    inOrder.verify(bookingEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    inOrder.verify(bookingEventSink).publish(second);
+    inOrder.verify(bookingEventRepository).deleteAllByIdInBatch(List.of(3L));
+    verify(bookingEventRepository, times(2)).findByOrderByIdAsc(any());
+  }
+
+  @Test
+  void relayShouldKeepEventsWhenPublishingFails() {
+    final var events = List.of(event(1L));
+    when(bookingEventRepository.findByOrderByIdAsc(any())).thenReturn(events);
+    doThrow(new IllegalStateException("sink down")).when(bookingEventSink).publish(events);
+
+    bookingEventRelay.relay();
+
+    verify(bookingEventRepository, never()).deleteAllByIdInBatch(anyList());
+  }
+
+  @Test
+  void relayShouldDoNothingWhenOutboxIsEmpty() {
+    when(bookingEventRepository.findByOrderByIdAsc(any())).thenReturn(Collections.emptyList());
+
+    bookingEventRelay.relay();
+
+    verify(bookingEventSink, never()).publish(anyList());
+  }
+
+  private static BookingEvent event(Long id) {
+    final var event = new BookingEvent();
+    event.setId(id);
+    return event;
+  }
+}
@@ -0,0 +1,88 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import com.hostfully.bookingservice.repository.BookingArchiveRepository;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.service.BookingExportService;
+import com.hostfully.bookingservice.service.BookingFileFormat;
+import com.hostfully.bookingservice.service.BookingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class BookingExportServiceTest {
+
+  private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+  @Mock private BookingRepository bookingRepository;
+
+  @Mock private BookingArchiveRepository bookingArchiveRepository;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private BookingExportService bookingExportService;
+
+  private final AtomicBoolean bookingsClosed = new AtomicBoolean();
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    bookingExportService =
+        new BookingExportService(
+            bookingRepository,
+            bookingArchiveRepository,
+            new TransactionTemplate(transactionManager),
+            new ObjectMapper().findAndRegisterModules(),
+            new BookingMetrics(new SimpleMeterRegistry()));
+    when(bookingRepository.streamAllResponses())
+        .thenReturn(
+            Stream.of(new BookingResponse(2L, DAY, DAY.plusDays(3), 4L, null, false, 1L, 0L))
+                .onClose(() -> bookingsClosed.set(true)));
+    final var lastYear = DAY.minusYears(1);
+    when(bookingArchiveRepository.streamAllResponses())
+        .thenReturn(
+            Stream.of(new BookingResponse(1L, lastYear, lastYear, null, 5L, true, 1L, 2L)));
+  }
+
+  @Test
+  void exportBookingsShouldWriteCsvLinesOfBookingsThenArchivedOnes() {
+    final var output = new ByteArrayOutputStream();
+
+    bookingExportService.exportBookings(output, BookingFileFormat.CSV);
+
+    assertEquals(
+        """
+        bookingId,propertyId,start,end,guestId,ownerId,canceled
+        2,1,2030-01-01,2030-01-04,4,,false
+        1,1,2029-01-01,2029-01-01,,5,true
+        """,
+        output.toString(StandardCharsets.UTF_8));
+    assertTrue(bookingsClosed.get());
+  }
+
+  @Test
+  void exportBookingsShouldWriteOneJsonObjectPerLine() {
+    final var output = new ByteArrayOutputStream();
+
+    bookingExportService.exportBookings(output, BookingFileFormat.NDJSON);
+
+    final var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].startsWith("{\"bookingId\":2,"));
+    assertTrue(lines[1].startsWith("{\"bookingId\":1,"));
+  }
+}
@@ -0,0 +1,135 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.controller.vo.BookingBatchItemResponse;
+import com.hostfully.bookingservice.controller.vo.BookingBatchResponse;
+import com.hostfully.bookingservice.controller.vo.BookingRequest;
+import com.hostfully.bookingservice.service.BookingBatchService;
+import com.hostfully.bookingservice.service.BookingFileFormat;
+import com.hostfully.bookingservice.service.BookingImportService;
+import com.hostfully.bookingservice.service.BookingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class BookingImportServiceTest {
+
+  @Mock private BookingBatchService bookingBatchService;
+
+  private BookingImportService bookingImportService;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    final var bookingProperties = new BookingProperties();
+    bookingProperties.getBulkImport().setBatchSize(2);
+    bookingImportService =
+        new BookingImportService(
+            bookingBatchService,
+            new ObjectMapper().findAndRegisterModules(),
+            new BookingMetrics(new SimpleMeterRegistry()),
+            bookingProperties);
+    when(bookingBatchService.createBookings(anyList(), eq(true)))
+        .thenAnswer(
+            call -> {
+              final List<BookingRequest> requests = call.getArgument(0);
+              return new BookingBatchResponse(
+                  requests.stream()
+                      .map(
+                          request ->
+                              new BookingBatchItemResponse(
+                                  requests.indexOf(request), 201, null, null))
+                      .toList());
+            });
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void importBookingsShouldImportCsvInBatches() {
+    final var csv =
+        """
+        propertyId,start,end,guestId,ownerId
+        1,2020-01-01,2020-01-05,1,
+        1,2020-01-06,2020-01-08,1,
+        2,2020-01-01,2020-01-05,,1
+        """;
+
+    final var response =
+        bookingImportService.importBookings(new StringReader(csv), BookingFileFormat.CSV);
+
+    assertEquals(3, response.getImported());
+    assertEquals(0, response.getRejected());
+    final ArgumentCaptor<List<BookingRequest>> batches = ArgumentCaptor.forClass(List.class);
+    verify(bookingBatchService, times(2)).createBookings(batches.capture(), eq(true));
+    final var last = batches.getAllValues().get(1).get(0);
+    assertEquals(2L, last.getPropertyId());
+    assertEquals(LocalDate.of(2020, 1, 1), last.getStart());
+    assertEquals(1L, last.getOwnerId());
+  }
+
+  @Test
+  void importBookingsShouldReportRejectedLinesWithTheirNumber() {
+    when(bookingBatchService.createBookings(anyList(), eq(true)))
+        .thenReturn(
+            new BookingBatchResponse(
+                List.of(
+                    new BookingBatchItemResponse(0, 201, null, null),
+                    new BookingBatchItemResponse(
+                        1, 400, null, List.of("Start date must be before end date")))));
+    final var ndjson =
+        """
+        {"propertyId":1,"start":"2020-01-01","end":"2020-01-05","guestId":1}
+        not json
+        {"propertyId":1,"start":"2020-01-09","end":"2020-01-06","guestId":1}
+        """;
+
+    final var response =
+        bookingImportService.importBookings(new StringReader(ndjson), BookingFileFormat.NDJSON);
+
+    assertEquals(1, response.getImported());
+    assertEquals(2, response.getRejected());
+    assertEquals(2, response.getErrors().get(0).getLine());
+    assertEquals(3, response.getErrors().get(1).getLine());
+    assertEquals(
+        List.of("Start date must be before end date"), response.getErrors().get(1).getErrors());
+  }
+
+  @Test
+  void importBookingsShouldRejectMalformedCsvLinesWithoutCallingTheBatch() {
+    final var response =
+        bookingImportService.importBookings(
+            new StringReader("1,2020-01-01\nx,2020-01-01,2020-01-02,1,\n"), BookingFileFormat.CSV);
+
+    assertEquals(0, response.getImported());
+    assertEquals(2, response.getRejected());
+    verify(bookingBatchService, never()).createBookings(anyList(), eq(true));
+  }
+
+  @Test
+  void importBookingsShouldRejectNullJsonLinesWithoutCallingTheBatch() {
+    final var response =
+        bookingImportService.importBookings(new StringReader("null\n"), BookingFileFormat.NDJSON);
+
+    assertEquals(0, response.getImported());
+    assertEquals(1, response.getRejected());
+    assertEquals(
+        List.of("Invalid JSON: expected a booking, got null"),
+        response.getErrors().get(0).getErrors());
+    verify(bookingBatchService, never()).createBookings(anyList(), eq(true));
+  }
+}
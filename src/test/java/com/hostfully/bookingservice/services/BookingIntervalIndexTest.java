@@ -0,0 +1,113 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.BookingInterval;
+import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.service.AvailabilityCalendar;
+import com.hostfully.bookingservice.service.BookingIntervalIndex;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class BookingIntervalIndexTest {
+
+  private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+  @Mock private BookingRepository bookingRepository;
+
+  private AvailabilityCalendar availabilityCalendar;
+
+  private BookingIntervalIndex bookingIntervalIndex;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    availabilityCalendar = new AvailabilityCalendar();
+    bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, availabilityCalendar);
+    when(bookingRepository.findAllActiveIntervals())
+        .thenReturn(
+            List.of(
+                new BookingInterval(1L, 1L, DAY, DAY.plusDays(4)),
+                new BookingInterval(2L, 1L, DAY.plusDays(10), DAY.plusDays(14)),
+                new BookingInterval(3L, 2L, DAY, DAY.plusDays(30))));
+    bookingIntervalIndex.warmUp();
+  }
+
+  @Test
+  void warmUpShouldMarkIndexAsReady() {
+    assertTrue(bookingIntervalIndex.isReady());
+  }
+
+  @Test
+  void hasOverlapShouldReturnTrueWhenPeriodOverlapsActiveBooking() {
+    assertTrue(bookingIntervalIndex.hasOverlap(1L, DAY.plusDays(3), DAY.plusDays(6), null));
+    assertTrue(bookingIntervalIndex.hasOverlap(1L, DAY.plusDays(14), DAY.plusDays(20), null));
+    assertTrue(bookingIntervalIndex.hasOverlap(1L, DAY.minusDays(5), DAY.plusDays(30), null));
+  }
+
+  @Test
+  void hasOverlapShouldReturnFalseWhenPeriodIsFree() {
+    assertFalse(bookingIntervalIndex.hasOverlap(1L, DAY.plusDays(5), DAY.plusDays(9), null));
+    assertFalse(bookingIntervalIndex.hasOverlap(1L, DAY.plusDays(15), DAY.plusDays(20), null));
+    assertFalse(bookingIntervalIndex.hasOverlap(3L, DAY, DAY.plusDays(30), null));
+  }
+
+  @Test
+  void hasOverlapShouldIgnoreExcludedBooking() {
+    assertFalse(bookingIntervalIndex.hasOverlap(1L, DAY.plusDays(9), DAY.plusDays(15), 2L));
+    assertTrue(bookingIntervalIndex.hasOverlap(1L, DAY.plusDays(3), DAY.plusDays(15), 2L));
+  }
+
+  @Test
+  void updateShouldMoveBookingAndRemoveCanceledOnes() {
+    Property property = new Property();
+    property.setId(2L);
+
+    Booking booking = new Booking();
+    booking.setId(1L);
+    booking.setProperty(property);
+    booking.setStart(DAY.plusDays(40));
+    booking.setEnd(DAY.plusDays(45));
+    booking.setCanceled(false);
+
+    bookingIntervalIndex.update(booking);
+
+    assertFalse(bookingIntervalIndex.hasOverlap(1L, DAY, DAY.plusDays(4), null));
+    assertTrue(bookingIntervalIndex.hasOverlap(2L, DAY.plusDays(45), DAY.plusDays(50), null));
+
+    booking.setCanceled(true);
+    bookingIntervalIndex.update(booking);
+
+    assertFalse(bookingIntervalIndex.hasOverlap(2L, DAY.plusDays(45), DAY.plusDays(50), null));
+  }
+
+  @Test
+  void removeShouldFreeThePeriod() {
+    bookingIntervalIndex.remove(2L);
+
+    assertFalse(bookingIntervalIndex.hasOverlap(1L, DAY.plusDays(10), DAY.plusDays(14), null));
+    assertTrue(
+        availabilityCalendar.occupiedNights(1L, DAY.plusDays(10), DAY.plusDays(14)).isEmpty());
+  }
+
+  @Test
+  void calendarShouldMirrorActiveBookings() {
+    final var nights =
+        availabilityCalendar.occupiedNights(1L, DAY.minusDays(100), DAY.plusDays(20));
+
+    assertEquals(10, nights.cardinality());
+    assertEquals(100, nights.nextSetBit(0));
+    assertEquals(105, nights.nextClearBit(100));
+    assertEquals(110, nights.nextSetBit(105));
+    assertEquals(115, nights.nextClearBit(110));
+  }
+}
@@ -0,0 +1,131 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.Guest;
+import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.service.BookingMetrics;
+import com.hostfully.bookingservice.service.BookingSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+
+class BookingSearchServiceTest {
+
+  private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+  @Mock private BookingRepository bookingRepository;
+
+  @SuppressWarnings("unchecked")
+  private final FetchableFluentQuery<Booking> query =
+      mock(FetchableFluentQuery.class, RETURNS_SELF);
+
+  private BookingSearchService bookingSearchService;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    bookingSearchService =
+        new BookingSearchService(bookingRepository, new BookingMetrics(new SimpleMeterRegistry()));
+    when(bookingRepository.findBy(any(Specification.class), any()))
+        .thenAnswer(
+            invocation -> {
+              final Function<FetchableFluentQuery<Booking>, Window<Booking>> function =
+                  invocation.getArgument(1);
+              return function.apply(query);
+            });
+  }
+
+  @Test
+  void findBookingsShouldStartFromFirstKeysetAndReturnCursorOfLastBooking() {
+    when(query.scroll(any()))
+        .thenReturn(
+            Window.from(
+                List.of(booking(3L, DAY), booking(4L, DAY.plusDays(1))),
+                index -> ScrollPosition.keyset(),
+                true));
+
+    final var page = bookingSearchService.findBookings(1L, null, DAY, null, false, null, 2);
+
+    verify(query).sortBy(Sort.by("start", "id"));
+    verify(query).limit(2);
+    verify(query).scroll(ScrollPosition.keyset());
+    assertEquals(2, page.getBookings().size());
+    assertEquals(3L, page.getBookings().get(0).getBookingId());
+    assertEquals("2030-01-02_4", page.getNextCursor());
+  }
+
+  @Test
+  void findBookingsShouldContinueAfterCursor() {
+    when(query.scroll(any()))
+        .thenReturn(
+            Window.from(List.of(booking(5L, DAY)), index -> ScrollPosition.keyset(), false));
+
+    final var page =
+        bookingSearchService.findBookings(null, 2L, null, null, null, "2030-01-01_4", 2);
+
+    final Map<String, Object> keys = new LinkedHashMap<>();
+    keys.put("start", DAY);
+    keys.put("id", 4L);
+    verify(query).scroll(ScrollPosition.forward(keys));
+    assertEquals(1, page.getBookings().size());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  void findBookingsShouldRejectInvalidCursor() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> bookingSearchService.findBookings(null, null, null, null, null, "2030-01-01", 10));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> bookingSearchService.findBookings(null, null, null, null, null, "x_1", 10));
+    verify(bookingRepository, never()).findBy(any(Specification.class), any());
+  }
+
+  @Test
+  void findBookingsShouldRejectInvalidArguments() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> bookingSearchService.findBookings(null, null, DAY, DAY.minusDays(1), null, null, 10));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> bookingSearchService.findBookings(null, null, null, null, null, null, 0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> bookingSearchService.findBookings(null, null, null, null, null, null, 501));
+  }
+
+  private static Booking booking(Long id, LocalDate start) {
+    final var booking = new Booking();
+    booking.setId(id);
+    booking.setStart(start);
+    booking.setEnd(start.plusDays(1));
+    booking.setCanceled(false);
+    booking.setGuest(new Guest());
+    booking.setProperty(new Property());
+    return booking;
+  }
+}
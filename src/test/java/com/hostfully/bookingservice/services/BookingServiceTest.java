@@ -7,26 +7,41 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
+import com.hostfully.bookingservice.config.BookingProperties;
 import com.hostfully.bookingservice.controller.vo.BookingPatchStatus;
 import com.hostfully.bookingservice.controller.vo.BookingRequest;
 import com.hostfully.bookingservice.controller.vo.BookingResponse;
 import com.hostfully.bookingservice.domain.Booking;
+import com.hostfully.bookingservice.domain.BookingEventType;
 import com.hostfully.bookingservice.domain.Guest;
 import com.hostfully.bookingservice.domain.Owner;
 import com.hostfully.bookingservice.domain.Property;
+import com.hostfully.bookingservice.exception.PreconditionFailedException;
+import com.hostfully.bookingservice.repository.BookingArchiveRepository;
 import com.hostfully.bookingservice.repository.BookingRepository;
 import com.hostfully.bookingservice.repository.GuestRepository;
 import com.hostfully.bookingservice.repository.OwnerRepository;
 import com.hostfully.bookingservice.repository.PropertyRepository;
+import com.hostfully.bookingservice.repository.PropertyRepository.PropertyWithGuest;
+import com.hostfully.bookingservice.service.BookingIntervalIndex;
+import com.hostfully.bookingservice.service.BookingMetrics;
 import com.hostfully.bookingservice.service.BookingService;
 import com.hostfully.bookingservice.service.BookingValidationService;
+import com.hostfully.bookingservice.service.OccupancyService;
+import com.hostfully.bookingservice.service.OutboxService;
+import com.hostfully.bookingservice.service.PropertyLocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 class BookingServiceTest {
 
@@ -38,20 +53,44 @@ class BookingServiceTest {
 
   @Mock private OwnerRepository ownerRepository;
 
+  @Mock private BookingArchiveRepository bookingArchiveRepository;
+
   @Mock private BookingValidationService bookingValidationService;
 
+  @Mock private BookingIntervalIndex bookingIntervalIndex;
+
+  @Mock private OccupancyService occupancyService;
+
+  @Mock private OutboxService outboxService;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private PropertyLocks propertyLocks;
+
   private BookingService bookingService;
 
   @BeforeEach
   public void setup() {
     MockitoAnnotations.openMocks(this);
+    propertyLocks = spy(new PropertyLocks(new BookingProperties()));
     bookingService =
         new BookingService(
             bookingRepository,
             propertyRepository,
             guestRepository,
             ownerRepository,
-            bookingValidationService);
+            bookingArchiveRepository,
+            bookingValidationService,
+            bookingIntervalIndex,
+            propertyLocks,
+            occupancyService,
+            outboxService,
+            new TransactionTemplate(transactionManager),
+            new BookingMetrics(meterRegistry),
+            new BookingProperties());
+    when(bookingRepository.save(any(Booking.class))).thenAnswer(call -> call.getArgument(0));
   }
 
   @Test
@@ -94,6 +133,7 @@ class BookingServiceTest {
   void deleteBookingShouldNotThrowExceptionWhenBookingFound() {
     Booking booking = new Booking();
     booking.setId(1L);
+    booking.setProperty(new Property());
 
     when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
 
@@ -115,20 +155,75 @@ class BookingServiceTest {
 
     when(propertyRepository.findById(1L)).thenReturn(Optional.of(property));
 
-    Booking booking = new Booking();
-    booking.setStart(bookingRequest.getStart());
-    booking.setEnd(bookingRequest.getEnd());
-    booking.setProperty(property);
-
-    when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
     when(ownerRepository.findById(1L)).thenReturn(Optional.of(new Owner(1L)));
 
     BookingResponse bookingResponse = bookingService.createBooking(bookingRequest);
 
-    assertEquals(booking.getStart(), bookingResponse.getStart());
-    assertEquals(booking.getEnd(), bookingResponse.getEnd());
-    assertEquals(booking.getProperty().getId(), bookingResponse.getPropertyId());
+    assertEquals(bookingRequest.getStart(), bookingResponse.getStart());
+    assertEquals(bookingRequest.getEnd(), bookingResponse.getEnd());
+    assertEquals(property.getId(), bookingResponse.getPropertyId());
     assertNotNull(bookingResponse.getOwnerId());
+    verify(outboxService, times(1)).record(eq(BookingEventType.CREATED), any(Booking.class));
+  }
+
+  @Test
+  void createBookingShouldReadTheGuestAndThePropertyInOneQuery() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().plusDays(1));
+    bookingRequest.setEnd(LocalDate.now().plusDays(2));
+    bookingRequest.setPropertyId(1L);
+    bookingRequest.setGuestId(2L);
+
+    Property property = new Property();
+    property.setId(1L);
+    PropertyWithGuest references = mock(PropertyWithGuest.class);
+    when(references.getProperty()).thenReturn(property);
+    when(references.getGuest()).thenReturn(new Guest(2L));
+    when(propertyRepository.findWithGuest(1L, 2L)).thenReturn(Optional.of(references));
+
+    BookingResponse bookingResponse = bookingService.createBooking(bookingRequest);
+
+    assertEquals(1L, bookingResponse.getPropertyId());
+    assertEquals(2L, bookingResponse.getGuestId());
+    verify(propertyRepository, never()).findById(any());
+    verify(guestRepository, never()).findById(any());
+  }
+
+  @Test
+  void createBookingShouldReportTheGuestBeforeTheProperty() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().plusDays(1));
+    bookingRequest.setEnd(LocalDate.now().plusDays(2));
+    bookingRequest.setPropertyId(1L);
+    bookingRequest.setGuestId(1L);
+
+    when(guestRepository.findById(1L)).thenReturn(Optional.empty());
+    when(propertyRepository.findById(1L)).thenReturn(Optional.empty());
+
+    final var message =
+        assertThrows(
+                NoSuchElementException.class, () -> bookingService.createBooking(bookingRequest))
+            .getMessage();
+    assertEquals("Guest not found with id: 1", message);
+  }
+
+  @Test
+  void createBookingShouldThrowExceptionWhenPropertyNotFound() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().plusDays(1));
+    bookingRequest.setEnd(LocalDate.now().plusDays(2));
+    bookingRequest.setPropertyId(1L);
+    bookingRequest.setGuestId(1L);
+
+    when(guestRepository.findById(1L)).thenReturn(Optional.of(new Guest(1L)));
+    when(propertyRepository.findById(1L)).thenReturn(Optional.empty());
+
+    final var message =
+        assertThrows(
+                NoSuchElementException.class, () -> bookingService.createBooking(bookingRequest))
+            .getMessage();
+    assertEquals("Property not found with id: 1", message);
+    verify(bookingRepository, never()).save(any());
   }
 
   @Test
@@ -157,29 +252,86 @@ class BookingServiceTest {
     assertEquals(bookingRequest.getEnd(), bookingResponse.getEnd());
   }
 
+  @Test
+  void updateBookingShouldLockTheCurrentAndTheNewProperty() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().plusDays(3));
+    bookingRequest.setEnd(LocalDate.now().plusDays(4));
+    bookingRequest.setPropertyId(1L);
+    bookingRequest.setGuestId(1L);
+
+    Property currentProperty = new Property();
+    currentProperty.setId(2L);
+    Booking existingBooking = new Booking();
+    existingBooking.setId(1L);
+    existingBooking.setProperty(currentProperty);
+
+    when(bookingRepository.findActiveBookingByIdAndCanceledIsFalse(1L))
+        .thenReturn(Optional.of(existingBooking));
+    when(guestRepository.findById(1L)).thenReturn(Optional.of(new Guest()));
+    when(propertyRepository.findById(1L)).thenReturn(Optional.of(new Property()));
+
+    bookingService.updateBooking(bookingRequest, 1L);
+
+    verify(propertyLocks, times(1)).withLocks(eq(Arrays.asList(2L, 1L)), any());
+  }
+
   @Test
   void deleteBookingShouldNotThrowExceptionWhenBookingExists() {
+    Property property = new Property();
+    property.setId(7L);
     Booking booking = new Booking();
     booking.setId(1L);
+    booking.setProperty(property);
 
     when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
 
     bookingService.deleteBooking(1L);
 
+    verify(propertyLocks, times(1)).runWithLock(eq(7L), any(Runnable.class));
     verify(bookingRepository, times(1)).delete(booking);
+    verify(occupancyService, times(1)).release(1L);
+    verify(outboxService, times(1)).record(BookingEventType.DELETED, booking);
+    verify(bookingIntervalIndex, times(1)).remove(1L);
   }
 
   @Test
   void getBookingShouldReturnBookingResponseWhenBookingExists() {
-    Booking booking = new Booking();
-    booking.setId(1L);
-    booking.setProperty(new Property());
+    BookingResponse response =
+        new BookingResponse(1L, LocalDate.now(), LocalDate.now(), 1L, null, false, 1L, 0L);
 
-    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+    when(bookingRepository.findResponseById(1L)).thenReturn(Optional.of(response));
 
     BookingResponse bookingResponse = bookingService.getBooking(1L);
 
-    assertNotNull(bookingResponse);
+    assertEquals(response, bookingResponse);
+    verify(bookingRepository, never()).findById(any());
+  }
+
+  @Test
+  void getBookingShouldReturnArchivedBookingWhenNoLongerInBookingTable() {
+    BookingResponse response =
+        new BookingResponse(1L, LocalDate.now(), LocalDate.now(), 1L, null, false, 1L, 0L);
+
+    when(bookingRepository.findResponseById(1L)).thenReturn(Optional.empty());
+    when(bookingArchiveRepository.findResponseById(1L)).thenReturn(Optional.of(response));
+
+    assertEquals(response, bookingService.getBooking(1L));
+  }
+
+  @Test
+  void getBookingShouldThrowExceptionWhenBookingNotFound() {
+    when(bookingRepository.findResponseById(1L)).thenReturn(Optional.empty());
+    when(bookingArchiveRepository.findResponseById(1L)).thenReturn(Optional.empty());
+
+    assertThrows(NoSuchElementException.class, () -> bookingService.getBooking(1L));
+    assertEquals(
+        1,
+        meterRegistry
+            .get("booking.operation")
+            .tags("operation", "get", "outcome", "rejected")
+            .timer()
+            .count());
   }
 
   @Test
@@ -187,16 +339,23 @@ class BookingServiceTest {
     BookingPatchStatus bookingPatchStatus = new BookingPatchStatus();
     bookingPatchStatus.setCancel(true);
 
+    Property property = new Property();
+    property.setId(7L);
     Booking booking = new Booking();
     booking.setId(1L);
     booking.setCanceled(false);
+    booking.setProperty(property);
 
     when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
 
     bookingService.patchBooking(1L, bookingPatchStatus);
 
     assertTrue(booking.getCanceled());
+    verify(propertyLocks, times(1)).runWithLock(eq(7L), any(Runnable.class));
     verify(bookingRepository, times(1)).save(booking);
+    verify(occupancyService, times(1)).occupy(booking);
+    verify(outboxService, times(1)).record(BookingEventType.CANCELED, booking);
+    verify(bookingIntervalIndex, times(1)).update(booking);
   }
 
   @Test
@@ -222,6 +381,113 @@ class BookingServiceTest {
     verify(bookingRepository, times(1)).save(booking);
   }
 
+  @Test
+  void patchBookingShouldThrowExceptionWhenVersionIsStale() {
+    Booking booking = new Booking();
+    booking.setId(1L);
+    booking.setVersion(3L);
+    booking.setCanceled(false);
+    booking.setProperty(new Property());
+
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+    assertThrows(
+        PreconditionFailedException.class,
+        () -> bookingService.patchBooking(1L, new BookingPatchStatus(true), 2L));
+    verify(bookingRepository, never()).save(any());
+  }
+
+  @Test
+  void patchBookingShouldRetryWhenAConcurrentChangeWins() {
+    Booking booking = new Booking();
+    booking.setId(1L);
+    booking.setCanceled(false);
+    booking.setProperty(new Property());
+
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+    when(bookingRepository.save(any(Booking.class)))
+        .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L))
+        .thenAnswer(call -> call.getArgument(0));
+
+    bookingService.patchBooking(1L, new BookingPatchStatus(true));
+
+    verify(bookingRepository, times(2)).findById(1L);
+    assertEquals(
+        1,
+        meterRegistry.get("booking.conflict.retries").tags("operation", "patch").counter().count());
+  }
+
+  @Test
+  void patchBookingShouldGiveUpAfterTheLastAttempt() {
+    Booking booking = new Booking();
+    booking.setId(1L);
+    booking.setCanceled(false);
+    booking.setProperty(new Property());
+
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+    when(bookingRepository.save(any(Booking.class)))
+        .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+    assertThrows(
+        ObjectOptimisticLockingFailureException.class,
+        () -> bookingService.patchBooking(1L, new BookingPatchStatus(true)));
+    verify(bookingRepository, times(3)).findById(1L);
+  }
+
+  @Test
+  void updateBookingShouldNotRetryWhenAConcurrentChangeWins() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().plusDays(1));
+    bookingRequest.setEnd(LocalDate.now().plusDays(2));
+    bookingRequest.setPropertyId(1L);
+    bookingRequest.setGuestId(1L);
+    Booking booking = new Booking();
+    booking.setId(1L);
+    booking.setProperty(new Property());
+
+    when(bookingRepository.findActiveBookingByIdAndCanceledIsFalse(1L))
+        .thenReturn(Optional.of(booking));
+    when(guestRepository.findById(1L)).thenReturn(Optional.of(new Guest(1L)));
+    when(propertyRepository.findById(1L)).thenReturn(Optional.of(new Property()));
+    when(bookingRepository.save(any(Booking.class)))
+        .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+    assertThrows(
+        ObjectOptimisticLockingFailureException.class,
+        () -> bookingService.updateBooking(bookingRequest, 1L));
+    verify(bookingRepository, times(1)).findActiveBookingByIdAndCanceledIsFalse(1L);
+  }
+
+  @Test
+  void getBookingVersionShouldOnlyReadTheVersion() {
+    when(bookingRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+    assertEquals(4L, bookingService.getBookingVersion(1L));
+    verify(bookingRepository, never()).findResponseById(any());
+  }
+
+  @Test
+  void createBookingShouldNotUpdateIndexWhenNightsAreAlreadyTaken() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().plusDays(1));
+    bookingRequest.setEnd(LocalDate.now().plusDays(2));
+    bookingRequest.setPropertyId(1L);
+    bookingRequest.setGuestId(1L);
+
+    when(propertyRepository.findById(1L)).thenReturn(Optional.of(new Property()));
+    when(guestRepository.findById(1L)).thenReturn(Optional.of(new Guest()));
+    doThrow(new IllegalArgumentException("Property is already booked for the selected dates"))
+        .when(occupancyService)
+        .occupy(any(Booking.class));
+
+    final var message =
+        assertThrows(
+                IllegalArgumentException.class, () -> bookingService.createBooking(bookingRequest))
+            .getMessage();
+    assertEquals("Property is already booked for the selected dates", message);
+    verify(bookingIntervalIndex, never()).update(any());
+  }
+
   @Test
   void createBookingShouldThrowExceptionWhenPropertyOwnerIsDifferentFromRequestOwner() {
     BookingRequest bookingRequest = new BookingRequest();
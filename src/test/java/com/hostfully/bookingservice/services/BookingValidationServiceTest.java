@@ -2,17 +2,23 @@ package com.hostfully.bookingservice.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.config.BookingProperties.OverlapCheck;
 import com.hostfully.bookingservice.controller.vo.BookingRequest;
 import com.hostfully.bookingservice.domain.Booking;
 import com.hostfully.bookingservice.domain.Owner;
 import com.hostfully.bookingservice.domain.Property;
 import com.hostfully.bookingservice.repository.BookingRepository;
+import com.hostfully.bookingservice.service.BookingIntervalIndex;
+import com.hostfully.bookingservice.service.BookingMetrics;
 import com.hostfully.bookingservice.service.BookingValidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
-import java.util.Collections;
-import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -22,12 +28,22 @@ class BookingValidationServiceTest {
 
   @Mock private BookingRepository bookingRepository;
 
+  @Mock private BookingIntervalIndex bookingIntervalIndex;
+
+  private BookingProperties bookingProperties;
+
   private BookingValidationService bookingValidationService;
 
   @BeforeEach
   public void setup() {
     MockitoAnnotations.openMocks(this);
-    bookingValidationService = new BookingValidationService(bookingRepository);
+    bookingProperties = new BookingProperties();
+    bookingValidationService =
+        new BookingValidationService(
+            bookingRepository,
+            bookingIntervalIndex,
+            bookingProperties,
+            new BookingMetrics(new SimpleMeterRegistry()));
   }
 
   @Test
@@ -41,6 +57,77 @@ class BookingValidationServiceTest {
         () -> bookingValidationService.validateBooking(bookingRequest, 1L));
   }
 
+  @Test
+  void validateRequestShouldRefuseABookingLongerThanTheMaximumStay() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().plusDays(1));
+    bookingRequest.setEnd(bookingRequest.getStart().plusDays(BookingValidationService.MAX_NIGHTS));
+    bookingRequest.setGuestId(1L);
+
+    final var message =
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> bookingValidationService.validateRequest(bookingRequest))
+            .getMessage();
+    assertEquals("A booking can span at most 366 nights", message);
+
+    bookingRequest.setEnd(bookingRequest.getEnd().minusDays(1));
+    bookingValidationService.validateRequest(bookingRequest);
+  }
+
+  @Test
+  void validateImportedRequestShouldRefuseABookingLongerThanTheMaximumStay() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.of(2020, 1, 1));
+    bookingRequest.setEnd(LocalDate.of(2021, 1, 1));
+    bookingRequest.setOwnerId(1L);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> bookingValidationService.validateImportedRequest(bookingRequest));
+  }
+
+  @Test
+  void validateRequestShouldRefuseABookingBeyondTheHorizon() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().plusYears(10));
+    bookingRequest.setEnd(bookingRequest.getStart().plusDays(1));
+    bookingRequest.setGuestId(1L);
+
+    final var message =
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> bookingValidationService.validateRequest(bookingRequest))
+            .getMessage();
+    assertEquals(
+        "Booking dates must be between "
+            + LocalDate.now().minusYears(10)
+            + " and "
+            + LocalDate.now().plusYears(10),
+        message);
+
+    bookingRequest.setStart(LocalDate.MAX.minusDays(1));
+    bookingRequest.setEnd(LocalDate.MAX);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> bookingValidationService.validateRequest(bookingRequest));
+  }
+
+  @Test
+  void validateImportedRequestShouldRefuseABookingBeyondTheHorizon() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().minusYears(10).minusDays(1));
+    bookingRequest.setEnd(bookingRequest.getStart().plusDays(1));
+    bookingRequest.setOwnerId(1L);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> bookingValidationService.validateImportedRequest(bookingRequest));
+
+    bookingRequest.setStart(LocalDate.now().minusYears(10));
+    bookingValidationService.validateImportedRequest(bookingRequest);
+  }
+
   @Test
   void validateBookingShouldThrowExceptionWhenEndDateIsInPastButCurrentDateIsNot() {
     BookingRequest bookingRequest = new BookingRequest();
@@ -74,6 +161,28 @@ class BookingValidationServiceTest {
         () -> bookingValidationService.validateBooking(bookingRequest, 1L));
   }
 
+  @Test
+  void validateImportedRequestShouldAcceptPastDates() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().minusDays(10));
+    bookingRequest.setEnd(LocalDate.now().minusDays(5));
+    bookingRequest.setGuestId(1L);
+
+    bookingValidationService.validateImportedRequest(bookingRequest);
+  }
+
+  @Test
+  void validateImportedRequestShouldThrowExceptionWhenStartDateIsAfterEndDate() {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setStart(LocalDate.now().minusDays(5));
+    bookingRequest.setEnd(LocalDate.now().minusDays(10));
+    bookingRequest.setGuestId(1L);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> bookingValidationService.validateImportedRequest(bookingRequest));
+  }
+
   @Test
   void validateBookingShouldThrowExceptionWhenGuestAndOwnerAreSet() {
     BookingRequest bookingRequest = new BookingRequest();
@@ -136,12 +245,9 @@ class BookingValidationServiceTest {
     bookingRequest.setPropertyId(1L);
     bookingRequest.setGuestId(1L);
 
-    final var mockedBooking = new Booking();
-    mockedBooking.setId(2L);
-
-    when(bookingRepository.findActiveOverlappingBookings(
-            1L, bookingRequest.getStart(), bookingRequest.getEnd()))
-        .thenReturn(Collections.singletonList(mockedBooking));
+    when(bookingRepository.existsActiveOverlap(
+            1L, bookingRequest.getStart(), bookingRequest.getEnd(), 1L))
+        .thenReturn(true);
 
     final var message =
         assertThrows(
@@ -152,27 +258,21 @@ class BookingValidationServiceTest {
   }
 
   @Test
-  void validateBookingShouldThrowExceptionWhenFoundMoreThanOneBooking() {
+  void validateBookingShouldThrowExceptionWhenNewBookingOverlapsActiveBooking() {
     BookingRequest bookingRequest = new BookingRequest();
     bookingRequest.setStart(LocalDate.now().plusDays(1));
     bookingRequest.setEnd(LocalDate.now().plusDays(2));
     bookingRequest.setPropertyId(1L);
     bookingRequest.setOwnerId(1L);
 
-    final var mockedBooking = new Booking();
-    mockedBooking.setId(1L);
-
-    final var mockedBooking2 = new Booking();
-    mockedBooking.setId(2L);
-
-    when(bookingRepository.findActiveOverlappingBookings(
-            1L, bookingRequest.getStart(), bookingRequest.getEnd()))
-        .thenReturn(List.of(mockedBooking, mockedBooking2));
+    when(bookingRepository.existsActiveOverlap(
+            1L, bookingRequest.getStart(), bookingRequest.getEnd(), null))
+        .thenReturn(true);
 
     final var message =
         assertThrows(
                 IllegalArgumentException.class,
-                () -> bookingValidationService.validateBooking(bookingRequest, 1L))
+                () -> bookingValidationService.validateBooking(bookingRequest, null))
             .getMessage();
     assertEquals("Property is already booked for the selected dates", message);
   }
@@ -185,14 +285,42 @@ class BookingValidationServiceTest {
     bookingRequest.setPropertyId(1L);
     bookingRequest.setGuestId(1L);
 
-    final var mockedBooking = new Booking();
-    mockedBooking.setId(1L);
-
-    when(bookingRepository.findActiveOverlappingBookings(
-            1L, bookingRequest.getStart(), bookingRequest.getEnd()))
-        .thenReturn(Collections.singletonList(mockedBooking));
+    when(bookingRepository.existsActiveOverlap(
+            1L, bookingRequest.getStart(), bookingRequest.getEnd(), 1L))
+        .thenReturn(false);
 
     bookingValidationService.validateBooking(bookingRequest, 1L);
+
+    verify(bookingRepository)
+        .existsActiveOverlap(1L, bookingRequest.getStart(), bookingRequest.getEnd(), 1L);
+  }
+
+  @Test
+  void validateBookingOverlapShouldUseIndexWhenItIsReady() {
+    final var start = LocalDate.now().plusDays(1);
+    final var end = LocalDate.now().plusDays(2);
+
+    when(bookingIntervalIndex.isReady()).thenReturn(true);
+    when(bookingIntervalIndex.hasOverlap(1L, start, end, null)).thenReturn(true);
+
+    final var message =
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> bookingValidationService.validateBookingOverlap(null, 1L, start, end))
+            .getMessage();
+    assertEquals("Property is already booked for the selected dates", message);
+    verify(bookingRepository, never()).existsActiveOverlap(any(), any(), any(), any());
+  }
+
+  @Test
+  void validateBookingOverlapShouldSkipCheckWhenLeftToTheConstraint() {
+    bookingProperties.setOverlapCheck(OverlapCheck.CONSTRAINT);
+
+    bookingValidationService.validateBookingOverlap(
+        null, 1L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(2));
+
+    verify(bookingIntervalIndex, never()).hasOverlap(any(), any(), any(), any());
+    verify(bookingRepository, never()).existsActiveOverlap(any(), any(), any(), any());
   }
 
   @Test
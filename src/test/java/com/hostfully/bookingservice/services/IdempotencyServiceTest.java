@@ -0,0 +1,137 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.controller.vo.BookingRequest;
+import com.hostfully.bookingservice.controller.vo.BookingResponse;
+import com.hostfully.bookingservice.service.IdempotencyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyServiceTest {
+
+  private final AtomicInteger creations = new AtomicInteger();
+
+  private IdempotencyService idempotencyService;
+
+  private BookingRequest bookingRequest;
+
+  @BeforeEach
+  public void setup() {
+    idempotencyService =
+        new IdempotencyService(new BookingProperties(), new SimpleMeterRegistry());
+    bookingRequest = request(1L);
+  }
+
+  @Test
+  void createOnceShouldReplayTheFirstResponse() {
+    final var first = idempotencyService.createOnce("client", "key", bookingRequest, this::create);
+    final var retry = idempotencyService.createOnce("client", "key", request(1L), this::create);
+
+    assertSame(first, retry);
+    assertEquals(1, creations.get());
+  }
+
+  @Test
+  void createOnceShouldScopeKeysByClient() {
+    final var first = idempotencyService.createOnce("client", "key", bookingRequest, this::create);
+    final var other = idempotencyService.createOnce("other", "key", request(2L), this::create);
+
+    assertEquals(1L, first.getBookingId());
+    assertEquals(2L, other.getBookingId());
+    assertEquals(2, creations.get());
+  }
+
+  @Test
+  void createOnceShouldRejectAKeyReusedForAnotherRequest() {
+    idempotencyService.createOnce("client", "key", bookingRequest, this::create);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> idempotencyService.createOnce("client", "key", request(2L), this::create));
+    assertEquals(1, creations.get());
+  }
+
+  @Test
+  void createOnceShouldForgetFailedCreations() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            idempotencyService.createOnce(
+                "client",
+                "key",
+                bookingRequest,
+                () -> {
+                  throw new IllegalArgumentException("Property is already booked");
+                }));
+
+    idempotencyService.createOnce("client", "key", bookingRequest, this::create);
+
+    assertEquals(1, creations.get());
+  }
+
+  @Test
+  void createOnceShouldRejectBlankKeys() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> idempotencyService.createOnce("client", " ", bookingRequest, this::create));
+  }
+
+  @Test
+  void concurrentDuplicatesShouldWaitForTheFirstCreation() throws Exception {
+    final var started = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var first =
+        CompletableFuture.supplyAsync(
+            () ->
+                idempotencyService.createOnce(
+                    "client",
+                    "key",
+                    bookingRequest,
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return create();
+                    }));
+    started.await(5, TimeUnit.SECONDS);
+
+    final var duplicate =
+        CompletableFuture.supplyAsync(
+            () -> idempotencyService.createOnce("client", "key", request(1L), this::create));
+    release.countDown();
+
+    assertSame(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+    assertEquals(1, creations.get());
+  }
+
+  private BookingResponse create() {
+    final var id = (long) creations.incrementAndGet();
+    return new BookingResponse(id, LocalDate.now(), LocalDate.now(), 1L, null, false, 1L, 0L);
+  }
+
+  private static BookingRequest request(Long propertyId) {
+    BookingRequest bookingRequest = new BookingRequest();
+    bookingRequest.setPropertyId(propertyId);
+    bookingRequest.setGuestId(1L);
+    bookingRequest.setStart(LocalDate.of(2030, 1, 1));
+    bookingRequest.setEnd(LocalDate.of(2030, 1, 10));
+    return bookingRequest;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
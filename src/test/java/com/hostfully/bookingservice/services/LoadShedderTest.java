@@ -0,0 +1,52 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.service.LoadShedder;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoadShedderTest {
+
+  private final HikariDataSource dataSource = mock(HikariDataSource.class);
+
+  private final HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+
+  private final BookingProperties bookingProperties = new BookingProperties();
+
+  @BeforeEach
+  public void setup() throws Exception {
+    when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+    when(dataSource.unwrap(HikariDataSource.class)).thenReturn(dataSource);
+    when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+    bookingProperties.getLoadShedding().setMaxAwaitingConnection(5);
+  }
+
+  @Test
+  void isSaturatedShouldBeTrueOnceEnoughRequestsAwaitAConnection() {
+    final var loadShedder = new LoadShedder(dataSource, bookingProperties);
+
+    when(pool.getThreadsAwaitingConnection()).thenReturn(4);
+    assertFalse(loadShedder.isSaturated());
+
+    when(pool.getThreadsAwaitingConnection()).thenReturn(5);
+    assertTrue(loadShedder.isSaturated());
+  }
+
+  @Test
+  void isSaturatedShouldBeFalseWhenDisabledOrBeforeThePoolStarts() {
+    when(pool.getThreadsAwaitingConnection()).thenReturn(100);
+    bookingProperties.getLoadShedding().setEnabled(false);
+    assertFalse(new LoadShedder(dataSource, bookingProperties).isSaturated());
+
+    bookingProperties.getLoadShedding().setEnabled(true);
+    when(dataSource.getHikariPoolMXBean()).thenReturn(null);
+    assertFalse(new LoadShedder(dataSource, bookingProperties).isSaturated());
+  }
+}
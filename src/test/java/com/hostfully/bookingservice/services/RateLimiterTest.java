@@ -0,0 +1,56 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hostfully.bookingservice.config.BookingProperties;
+import com.hostfully.bookingservice.service.RateLimiter;
+import com.hostfully.bookingservice.service.RateLimiter.TokenBucket;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void tokenBucketShouldAllowBurstThenOnePermitPerInterval() {
+    final var bucket = new TokenBucket(2, 3);
+    final var now = 1_000 * SECOND;
+
+    assertEquals(0, bucket.tryAcquire(now));
+    assertEquals(0, bucket.tryAcquire(now));
+    assertEquals(0, bucket.tryAcquire(now));
+    assertEquals(SECOND / 2, bucket.tryAcquire(now));
+
+    assertEquals(0, bucket.tryAcquire(now + SECOND / 2));
+    assertTrue(bucket.tryAcquire(now + SECOND / 2) > 0);
+  }
+
+  @Test
+  void tokenBucketShouldRefillWhileIdle() {
+    final var bucket = new TokenBucket(10, 2);
+    final var now = 1_000 * SECOND;
+    bucket.tryAcquire(now);
+    bucket.tryAcquire(now);
+
+    assertEquals(0, bucket.tryAcquire(now + 10 * SECOND));
+    assertEquals(0, bucket.tryAcquire(now + 10 * SECOND));
+    assertTrue(bucket.tryAcquire(now + 10 * SECOND) > 0);
+  }
+
+  @Test
+  void tryAcquireShouldLimitEachClientAndEndpointSeparately() {
+    final var bookingProperties = new BookingProperties();
+    bookingProperties
+        .getRateLimit()
+        .getEndpoints()
+        .put("BookingController.createBooking", new BookingProperties.Limit(0.001, 1));
+    final var rateLimiter = new RateLimiter(bookingProperties);
+
+    assertEquals(0, rateLimiter.tryAcquire("a", "BookingController.createBooking"));
+    assertTrue(rateLimiter.tryAcquire("a", "BookingController.createBooking") > 0);
+    assertEquals(0, rateLimiter.tryAcquire("b", "BookingController.createBooking"));
+    assertEquals(0, rateLimiter.tryAcquire("a", "BookingController.getBooking"));
+  }
+}
@@ -0,0 +1,85 @@
+package com.hostfully.bookingservice.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.hostfully.bookingservice.config.ReferenceCacheConfiguration;
+import com.hostfully.bookingservice.repository.GuestRepository;
+import com.hostfully.bookingservice.repository.PropertyRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:booking-reference-cache-test",
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "booking.reference-cache.maximum-size=1234"
+    })
+class ReferenceCacheTest {
+
+  @Autowired private PropertyRepository propertyRepository;
+
+  @Autowired private GuestRepository guestRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired private CacheManager referenceCacheManager;
+
+  private SessionFactory sessionFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  public void setup() {
+    sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    sessionFactory.getCache().evictAllRegions();
+    statistics = sessionFactory.getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void findByIdShouldBeServedFromTheCacheAfterTheFirstLoad() {
+    propertyRepository.findById(1L);
+    propertyRepository.findById(1L);
+    guestRepository.findById(1L);
+    guestRepository.findById(1L);
+
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(2, statistics.getSecondLevelCacheMissCount());
+    assertEquals(2, statistics.getSecondLevelCacheHitCount());
+  }
+
+  @Test
+  void savingAPropertyShouldUpdateTheCachedEntry() {
+    final var property = propertyRepository.findById(2L).orElseThrow();
+    property.setAddress("Updated address");
+    propertyRepository.save(property);
+    statistics.clear();
+
+    assertEquals("Updated address", propertyRepository.findById(2L).orElseThrow().getAddress());
+    assertEquals(0, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void regionsShouldBelongToThisContextAndFollowItsSettings() {
+    final var defaultCacheManager =
+        Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+    assertNotSame(defaultCacheManager, referenceCacheManager);
+
+    for (String region : ReferenceCacheConfiguration.REGIONS) {
+      final var configuration =
+          referenceCacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+      assertEquals(OptionalLong.of(1234), configuration.getMaximumSize());
+    }
+  }
+}